@@ -0,0 +1,78 @@
+package com.moneytracker.benchmark;
+
+import com.moneytracker.MoneyTrackerApplication;
+import com.moneytracker.model.AccountType;
+import com.moneytracker.model.Category;
+import com.moneytracker.model.Transaction;
+import com.moneytracker.model.TransactionType;
+import com.moneytracker.repository.TransactionBatchInserter;
+import com.moneytracker.service.TransactionDailyTotals;
+import com.moneytracker.service.TransactionSearchIndex;
+import com.moneytracker.service.TransactionTotals;
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * Shared fixtures: a non-web application context on the embedded H2 test database and
+ * deterministic random ledgers of a given size.
+ */
+final class BenchmarkData {
+
+  static final LocalDate TODAY = LocalDate.of(2025, 6, 30);
+  static final int DAYS = 3650;
+
+  private static final int SEED_BATCH = 10_000;
+
+  private BenchmarkData() {
+  }
+
+  static ConfigurableApplicationContext startContext() {
+    return new SpringApplicationBuilder(MoneyTrackerApplication.class)
+        .profiles("test")
+        .web(WebApplicationType.NONE)
+        .properties("logging.level.root=WARN", "logging.level.com.moneytracker=WARN")
+        .run();
+  }
+
+  /**
+   * Inserts {@code rows} random transactions spread over the last {@link #DAYS} days and
+   * brings the running totals and in-memory indexes up to date.
+   */
+  static void seed(ConfigurableApplicationContext context, int rows) {
+    TransactionBatchInserter inserter = context.getBean(TransactionBatchInserter.class);
+    TransactionTemplate transactionTemplate = context.getBean(TransactionTemplate.class);
+    Random random = new Random(42);
+
+    for (int inserted = 0; inserted < rows; inserted += SEED_BATCH) {
+      List<Transaction> batch = transactions(Math.min(SEED_BATCH, rows - inserted), random);
+      transactionTemplate.executeWithoutResult(status -> inserter.insert(batch));
+    }
+    context.getBean(TransactionTotals.class).rebuild();
+    context.getBean(TransactionDailyTotals.class).rebuild();
+    context.getBean(TransactionSearchIndex.class).rebuild();
+  }
+
+  static List<Transaction> transactions(int count, Random random) {
+    TransactionType[] types = TransactionType.values();
+    Category[] categories = Category.values();
+    AccountType[] accountTypes = AccountType.values();
+
+    List<Transaction> transactions = new ArrayList<>(count);
+    for (int i = 0; i < count; i++) {
+      transactions.add(new Transaction("Transaction " + i,
+          BigDecimal.valueOf(1 + random.nextInt(1_000_000), 2),
+          types[random.nextInt(types.length)],
+          categories[random.nextInt(categories.length)],
+          accountTypes[random.nextInt(accountTypes.length)],
+          TODAY.minusDays(random.nextInt(DAYS))));
+    }
+    return transactions;
+  }
+}
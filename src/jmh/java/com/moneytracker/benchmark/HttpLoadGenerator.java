@@ -0,0 +1,179 @@
+package com.moneytracker.benchmark;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+
+/**
+ * Closed-loop HTTP load against a running instance: {@code clients} concurrent clients each
+ * send a request, wait for the response and immediately send the next one, cycling through
+ * {@code paths} as GETs or, given a {@code body}, as JSON POSTs. Prints throughput and latency
+ * percentiles for the measurement window, so the same run can be repeated against different
+ * configurations, e.g. the default and the {@code virtual} profile.
+ *
+ * <pre>
+ * --url=http://localhost:8080 --clients=1000 --warmup=15 --duration=60
+ * --paths=/api/transactions/summary?from=2024-01-01,/api/transactions/by-type/EXPENSE/page?size=20
+ * --paths=/api/transactions --body={"description":"Load","amount":1,...}
+ * </pre>
+ */
+public final class HttpLoadGenerator {
+
+  private static final String DEFAULT_PATHS = String.join(",",
+      "/api/transactions/summary?from=2024-01-01&to=2024-12-31",
+      "/api/transactions/by-category/FOOD/page?size=20",
+      "/api/transactions/breakdown?from=2024-01-01&to=2024-12-31");
+
+  private HttpLoadGenerator() {
+  }
+
+  public static void main(String[] args) throws InterruptedException {
+    Map<String, String> options = parse(args);
+    URI base = URI.create(options.getOrDefault("url", "http://localhost:8080"));
+    int clients = Integer.parseInt(options.getOrDefault("clients", "1000"));
+    long warmupNanos = Duration.ofSeconds(
+        Long.parseLong(options.getOrDefault("warmup", "15"))).toNanos();
+    long durationNanos = Duration.ofSeconds(
+        Long.parseLong(options.getOrDefault("duration", "60"))).toNanos();
+    String body = options.get("body");
+    List<HttpRequest> requests = new ArrayList<>();
+    for (String path : options.getOrDefault("paths", DEFAULT_PATHS).split(",")) {
+      HttpRequest.Builder request = HttpRequest.newBuilder(base.resolve(path))
+          .timeout(Duration.ofSeconds(30));
+      if (body == null) {
+        request.GET();
+      } else {
+        request.header("Content-Type", "application/json")
+            .POST(HttpRequest.BodyPublishers.ofString(body));
+      }
+      requests.add(request.build());
+    }
+
+    HttpClient httpClient = HttpClient.newBuilder()
+        .version(HttpClient.Version.HTTP_1_1)
+        .connectTimeout(Duration.ofSeconds(10))
+        .build();
+
+    long start = System.nanoTime();
+    long measureFrom = start + warmupNanos;
+    long measureUntil = measureFrom + durationNanos;
+    Client[] running = new Client[clients];
+    CountDownLatch done = new CountDownLatch(clients);
+    for (int i = 0; i < clients; i++) {
+      running[i] = new Client(httpClient, requests, i, measureFrom, measureUntil, done);
+      running[i].next();
+    }
+    done.await();
+
+    report(clients, durationNanos, running);
+  }
+
+  private static void report(int clients, long durationNanos, Client[] running) {
+    int total = 0;
+    long errors = 0;
+    for (Client client : running) {
+      total += client.count;
+      errors += client.errors;
+    }
+    long[] latencies = new long[total];
+    int offset = 0;
+    for (Client client : running) {
+      System.arraycopy(client.latencies, 0, latencies, offset, client.count);
+      offset += client.count;
+    }
+    Arrays.sort(latencies);
+
+    double seconds = durationNanos / 1e9;
+    System.out.printf("clients=%d requests=%d errors=%d throughput=%.1f req/s%n", clients, total,
+        errors, total / seconds);
+    System.out.printf("latency ms: p50=%.1f p90=%.1f p99=%.1f p99.9=%.1f max=%.1f%n",
+        percentile(latencies, 0.50), percentile(latencies, 0.90), percentile(latencies, 0.99),
+        percentile(latencies, 0.999), percentile(latencies, 1.0));
+  }
+
+  private static double percentile(long[] sorted, double p) {
+    if (sorted.length == 0) {
+      return Double.NaN;
+    }
+    int index = (int) Math.ceil(p * sorted.length) - 1;
+    return sorted[Math.max(0, index)] / 1e6;
+  }
+
+  private static Map<String, String> parse(String[] args) {
+    Map<String, String> options = new LinkedHashMap<>();
+    for (String arg : args) {
+      if (!arg.startsWith("--") || arg.indexOf('=') < 0) {
+        throw new IllegalArgumentException("Expected --name=value but got " + arg);
+      }
+      int eq = arg.indexOf('=');
+      options.put(arg.substring(2, eq), arg.substring(eq + 1));
+    }
+    return options;
+  }
+
+  /**
+   * One simulated user. Only requests sent and answered inside the measurement window are
+   * counted. Each request is sent from the previous one's completion, so the fields are never
+   * touched by two threads at once.
+   */
+  private static final class Client {
+
+    final HttpClient httpClient;
+    final List<HttpRequest> requests;
+    final long measureFrom;
+    final long measureUntil;
+    final CountDownLatch done;
+
+    int next;
+    long errors;
+    long[] latencies = new long[1024];
+    int count;
+
+    Client(HttpClient httpClient, List<HttpRequest> requests, int offset, long measureFrom,
+        long measureUntil, CountDownLatch done) {
+      this.httpClient = httpClient;
+      this.requests = requests;
+      this.next = offset % requests.size();
+      this.measureFrom = measureFrom;
+      this.measureUntil = measureUntil;
+      this.done = done;
+    }
+
+    void next() {
+      long sent = System.nanoTime();
+      if (sent >= measureUntil) {
+        done.countDown();
+        return;
+      }
+      HttpRequest request = requests.get(next);
+      next = (next + 1) % requests.size();
+      httpClient.sendAsync(request, HttpResponse.BodyHandlers.discarding())
+          .whenComplete((response, failure) -> {
+            long received = System.nanoTime();
+            if (sent >= measureFrom && received <= measureUntil) {
+              if (failure != null || response.statusCode() >= 400) {
+                errors++;
+              } else {
+                record(received - sent);
+              }
+            }
+            next();
+          });
+    }
+
+    void record(long nanos) {
+      if (count == latencies.length) {
+        latencies = Arrays.copyOf(latencies, count * 2);
+      }
+      latencies[count++] = nanos;
+    }
+  }
+}
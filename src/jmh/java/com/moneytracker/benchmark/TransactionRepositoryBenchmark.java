@@ -0,0 +1,98 @@
+package com.moneytracker.benchmark;
+
+import com.moneytracker.model.Category;
+import com.moneytracker.model.ListTransactionRequest;
+import com.moneytracker.model.ListTransactionResponse;
+import com.moneytracker.model.Transaction;
+import com.moneytracker.model.TransactionType;
+import com.moneytracker.repository.TransactionRepository;
+import com.moneytracker.service.TransactionService;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.domain.Sort.Direction;
+
+/**
+ * Finder and listing queries against the embedded database. The repository is called
+ * directly where the service would answer from a cache.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@State(Scope.Benchmark)
+@Fork(value = 1, jvmArgsAppend = "-Xmx4g")
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+public class TransactionRepositoryBenchmark {
+
+  private static final Pageable FIRST_PAGE = PageRequest.of(0, 50, Sort.by(Direction.DESC, "date"));
+
+  @Param({"10000", "100000", "1000000"})
+  private int rows;
+
+  private ConfigurableApplicationContext context;
+  private TransactionRepository transactionRepository;
+  private TransactionService transactionService;
+  private ListTransactionRequest firstPage;
+  private ListTransactionRequest deepPage;
+
+  @Setup(Level.Trial)
+  public void setUp() {
+    context = BenchmarkData.startContext();
+    BenchmarkData.seed(context, rows);
+    transactionRepository = context.getBean(TransactionRepository.class);
+    transactionService = context.getBean(TransactionService.class);
+
+    firstPage = new ListTransactionRequest();
+    firstPage.setCategory(Category.FOOD);
+
+    // walk halfway into the ledger once so the benchmark measures a deep keyset seek
+    deepPage = new ListTransactionRequest();
+    deepPage.setPageSize(500);
+    for (int seen = 0; seen < rows / 2; seen += 500) {
+      ListTransactionResponse page = transactionService.listTransactions(deepPage);
+      deepPage.setCursor(page.getNextCursor());
+    }
+    deepPage.setPageSize(50);
+  }
+
+  @TearDown(Level.Trial)
+  public void tearDown() {
+    context.close();
+  }
+
+  @Benchmark
+  public Slice<Transaction> findByTypePage() {
+    return transactionRepository.findByType(TransactionType.EXPENSE, FIRST_PAGE);
+  }
+
+  @Benchmark
+  public Slice<Transaction> findByCategoryPage() {
+    return transactionRepository.findByCategory(Category.FOOD, FIRST_PAGE);
+  }
+
+  @Benchmark
+  public ListTransactionResponse listFilteredFirstPage() {
+    return transactionService.listTransactions(firstPage);
+  }
+
+  @Benchmark
+  public ListTransactionResponse listDeepPage() {
+    return transactionService.listTransactions(deepPage);
+  }
+}
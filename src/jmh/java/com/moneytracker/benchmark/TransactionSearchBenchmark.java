@@ -0,0 +1,73 @@
+package com.moneytracker.benchmark;
+
+import com.moneytracker.model.Category;
+import com.moneytracker.model.TransactionPage;
+import com.moneytracker.service.TransactionSearchIndex;
+import com.moneytracker.service.TransactionService;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.data.domain.PageRequest;
+
+/**
+ * Description search over ledgers of increasing size. Every seeded description is
+ * "Transaction &lt;n&gt;", so "transaction 12" ranks the exact word against the numbers starting
+ * with 12; {@code searchIndexOnly} leaves out loading the page of rows.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@State(Scope.Benchmark)
+@Fork(value = 1, jvmArgsAppend = "-Xmx4g")
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+public class TransactionSearchBenchmark {
+
+  @Param({"10000", "100000", "1000000"})
+  private int rows;
+
+  private ConfigurableApplicationContext context;
+  private TransactionService transactionService;
+  private TransactionSearchIndex searchIndex;
+
+  @Setup(Level.Trial)
+  public void setUp() {
+    context = BenchmarkData.startContext();
+    BenchmarkData.seed(context, rows);
+    transactionService = context.getBean(TransactionService.class);
+    searchIndex = context.getBean(TransactionSearchIndex.class);
+  }
+
+  @TearDown(Level.Trial)
+  public void tearDown() {
+    context.close();
+  }
+
+  @Benchmark
+  public TransactionSearchIndex.Hits searchIndexOnly() {
+    return searchIndex.search("transaction 12", null, null, null, null, null, 0, 50);
+  }
+
+  @Benchmark
+  public TransactionSearchIndex.Hits searchIndexFiltered() {
+    return searchIndex.search("transaction 12", null, Category.FOOD, null,
+        BenchmarkData.TODAY.minusYears(1), null, 0, 50);
+  }
+
+  @Benchmark
+  public TransactionPage searchFirstPage() {
+    return transactionService.searchTransactions("transaction 12", null, null, null, null, null,
+        PageRequest.of(0, 50));
+  }
+}
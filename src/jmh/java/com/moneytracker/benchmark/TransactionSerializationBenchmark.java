@@ -0,0 +1,94 @@
+package com.moneytracker.benchmark;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.moneytracker.config.WireFormatConfig;
+import com.moneytracker.model.ListTransactionResponse;
+import com.moneytracker.model.Transaction;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import java.util.zip.GZIPOutputStream;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+/**
+ * Serialisation of the list payloads in each wire format, with the same ObjectMapper settings
+ * as the application, plain and gzipped as the server compresses them. The size of every
+ * payload, plain and gzipped, is printed once per trial.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@State(Scope.Benchmark)
+@Fork(1)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+public class TransactionSerializationBenchmark {
+
+  public enum Format {
+    JSON, CBOR, SMILE
+  }
+
+  @Param({"100", "1000", "10000"})
+  private int rows;
+
+  @Param({"JSON", "CBOR", "SMILE"})
+  private Format format;
+
+  private ObjectMapper objectMapper;
+  private List<Transaction> transactions;
+  private ListTransactionResponse response;
+
+  @Setup
+  public void setUp() throws IOException {
+    objectMapper = switch (format) {
+      case JSON -> Jackson2ObjectMapperBuilder.json().build();
+      case CBOR -> WireFormatConfig.cborMapper(Jackson2ObjectMapperBuilder.json());
+      case SMILE -> WireFormatConfig.smileMapper(Jackson2ObjectMapperBuilder.json());
+    };
+    transactions = BenchmarkData.transactions(rows, new Random(42));
+    long id = 1;
+    for (Transaction transaction : transactions) {
+      transaction.setId(id++);
+    }
+    response = new ListTransactionResponse(transactions, "MjAyNTox");
+
+    byte[] plain = transactionList();
+    System.out.printf("%n%s, %d rows: %d bytes, %d gzipped%n", format, rows, plain.length,
+        gzip(plain).length);
+  }
+
+  @Benchmark
+  public byte[] transactionList() throws IOException {
+    return objectMapper.writeValueAsBytes(transactions);
+  }
+
+  @Benchmark
+  public byte[] listTransactionResponse() throws IOException {
+    return objectMapper.writeValueAsBytes(response);
+  }
+
+  @Benchmark
+  public byte[] transactionListGzipped() throws IOException {
+    return gzip(objectMapper.writeValueAsBytes(transactions));
+  }
+
+  private static byte[] gzip(byte[] bytes) throws IOException {
+    ByteArrayOutputStream out = new ByteArrayOutputStream(bytes.length / 4);
+    try (GZIPOutputStream gzip = new GZIPOutputStream(out)) {
+      gzip.write(bytes);
+    }
+    return out.toByteArray();
+  }
+}
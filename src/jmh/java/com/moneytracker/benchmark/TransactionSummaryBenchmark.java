@@ -0,0 +1,72 @@
+package com.moneytracker.benchmark;
+
+import com.moneytracker.model.TransactionBreakdown;
+import com.moneytracker.model.TransactionSummary;
+import com.moneytracker.service.TransactionBreakdownService;
+import com.moneytracker.service.TransactionService;
+import java.time.LocalDate;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.context.ConfigurableApplicationContext;
+
+/**
+ * Summary and breakdown over ledgers of increasing size. The unfiltered summary is served from
+ * the running totals; the date-scoped one goes through the SQL aggregate.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@State(Scope.Benchmark)
+@Fork(value = 1, jvmArgsAppend = "-Xmx4g")
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+public class TransactionSummaryBenchmark {
+
+  @Param({"10000", "100000", "1000000"})
+  private int rows;
+
+  private ConfigurableApplicationContext context;
+  private TransactionService transactionService;
+  private TransactionBreakdownService breakdownService;
+  private LocalDate lastYear;
+
+  @Setup(Level.Trial)
+  public void setUp() {
+    context = BenchmarkData.startContext();
+    BenchmarkData.seed(context, rows);
+    transactionService = context.getBean(TransactionService.class);
+    breakdownService = context.getBean(TransactionBreakdownService.class);
+    lastYear = BenchmarkData.TODAY.minusYears(1);
+  }
+
+  @TearDown(Level.Trial)
+  public void tearDown() {
+    context.close();
+  }
+
+  @Benchmark
+  public TransactionSummary runningTotals() {
+    return transactionService.getTransactionSummary();
+  }
+
+  @Benchmark
+  public TransactionSummary sqlAggregateLastYear() {
+    return transactionService.getTransactionSummary(lastYear, null, null, null);
+  }
+
+  @Benchmark
+  public TransactionBreakdown breakdownLastYear() {
+    return breakdownService.getBreakdown(lastYear, null);
+  }
+}
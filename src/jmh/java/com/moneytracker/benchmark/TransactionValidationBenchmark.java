@@ -0,0 +1,49 @@
+package com.moneytracker.benchmark;
+
+import com.moneytracker.model.AccountType;
+import com.moneytracker.model.Category;
+import com.moneytracker.model.Transaction;
+import com.moneytracker.model.TransactionType;
+import com.moneytracker.service.TransactionValidator;
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * The validation createTransaction runs before every insert.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@State(Scope.Benchmark)
+@Fork(1)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+public class TransactionValidationBenchmark {
+
+  private TransactionValidator validator;
+  private Transaction transaction;
+
+  @Setup
+  public void setUp() {
+    validator = new TransactionValidator();
+    transaction = new Transaction("Groceries", new BigDecimal("1234.56"),
+        TransactionType.EXPENSE, Category.GROCERY, AccountType.CREDIT_CARD,
+        LocalDate.now().minusDays(1));
+  }
+
+  @Benchmark
+  public Transaction validate() {
+    validator.validate(transaction);
+    return transaction;
+  }
+}
@@ -0,0 +1,64 @@
+package com.moneytracker.config;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import java.time.Duration;
+import java.util.Collection;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.annotation.EnableCaching;
+import org.springframework.cache.caffeine.CaffeineCacheManager;
+import org.springframework.cache.transaction.TransactionAwareCacheManagerProxy;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.data.domain.Slice;
+
+/**
+ * In-process Caffeine caches behind Spring's cache abstraction. Puts and evictions made inside
+ * a transaction are deferred until it commits, so a rolled back update never reaches the cache
+ * and readers cannot re-cache the old row between the eviction and the commit.
+ */
+@Configuration
+@EnableCaching
+public class CacheConfig {
+
+  public static final String TRANSACTIONS = "transactions";
+  public static final String TRANSACTIONS_BY_TYPE = "transactionsByType";
+  public static final String TRANSACTIONS_BY_CATEGORY = "transactionsByCategory";
+
+  @Bean
+  public CacheManager cacheManager(
+      @Value("${money-tracker.cache.transactions.spec}") String transactionsSpec,
+      @Value("${money-tracker.cache.results.max-rows}") long resultMaxRows,
+      @Value("${money-tracker.cache.results.expire-after-write}") Duration resultTtl) {
+    CaffeineCacheManager caffeine = new CaffeineCacheManager(TRANSACTIONS);
+    caffeine.setCacheSpecification(transactionsSpec);
+    caffeine.setAllowNullValues(false);
+    caffeine.registerCustomCache(TRANSACTIONS_BY_TYPE, resultCache(resultMaxRows, resultTtl));
+    caffeine.registerCustomCache(TRANSACTIONS_BY_CATEGORY, resultCache(resultMaxRows, resultTtl));
+    return new TransactionAwareCacheManagerProxy(caffeine);
+  }
+
+  /**
+   * Result lists vary from a handful of rows to the whole category, so these caches are bounded
+   * by the number of rows they hold rather than by the number of entries.
+   */
+  private static Cache<Object, Object> resultCache(long maxRows, Duration ttl) {
+    return Caffeine.newBuilder()
+        .maximumWeight(maxRows)
+        .weigher((Object key, Object value) -> rowCount(value))
+        .expireAfterWrite(ttl)
+        .recordStats()
+        .build();
+  }
+
+  private static int rowCount(Object value) {
+    if (value instanceof Collection<?> rows) {
+      return Math.max(1, rows.size());
+    }
+    if (value instanceof Slice<?> slice) {
+      return Math.max(1, slice.getNumberOfElements());
+    }
+    return 1;
+  }
+}
@@ -0,0 +1,81 @@
+package com.moneytracker.config;
+
+import org.hibernate.Interceptor;
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+import org.hibernate.type.Type;
+
+/**
+ * Counts the SQL statements Hibernate prepares and the entities it loads on the current
+ * thread. Registered with Hibernate as both statement inspector and interceptor; request
+ * scoped numbers come from calling {@link #reset()} when a request starts and reading the
+ * counters when it ends. Statements issued through JDBC or R2DBC directly are not counted.
+ *
+ * <p>When a rejecting budget is set with {@link #limit}, the statement or entity that goes
+ * over it fails with a {@link QueryBudgetExceededException} before it is executed or returned.
+ */
+public class HibernateRequestStatistics implements StatementInspector, Interceptor {
+
+  private static final ThreadLocal<Counts> COUNTS = ThreadLocal.withInitial(Counts::new);
+
+  public static void reset() {
+    Counts counts = COUNTS.get();
+    counts.statements = 0;
+    counts.entitiesLoaded = 0;
+  }
+
+  public static long statements() {
+    return COUNTS.get().statements;
+  }
+
+  public static long entitiesLoaded() {
+    return COUNTS.get().entitiesLoaded;
+  }
+
+  /**
+   * Makes the current thread fail as soon as it prepares more than {@code maxStatements}
+   * statements or loads more than {@code maxEntities} entities, until {@link #clearLimit()}.
+   */
+  public static void limit(String endpoint, long maxStatements, long maxEntities) {
+    Counts counts = COUNTS.get();
+    counts.endpoint = endpoint;
+    counts.maxStatements = maxStatements;
+    counts.maxEntities = maxEntities;
+  }
+
+  public static void clearLimit() {
+    limit(null, Long.MAX_VALUE, Long.MAX_VALUE);
+  }
+
+  @Override
+  public String inspect(String sql) {
+    Counts counts = COUNTS.get();
+    if (++counts.statements > counts.maxStatements) {
+      throw counts.exceeded();
+    }
+    return sql;
+  }
+
+  @Override
+  public boolean onLoad(Object entity, Object id, Object[] state, String[] propertyNames,
+      Type[] types) {
+    Counts counts = COUNTS.get();
+    if (++counts.entitiesLoaded > counts.maxEntities) {
+      throw counts.exceeded();
+    }
+    return false;
+  }
+
+  private static final class Counts {
+
+    long statements;
+    long entitiesLoaded;
+    String endpoint;
+    long maxStatements = Long.MAX_VALUE;
+    long maxEntities = Long.MAX_VALUE;
+
+    QueryBudgetExceededException exceeded() {
+      return new QueryBudgetExceededException(endpoint, statements, maxStatements,
+          entitiesLoaded, maxEntities);
+    }
+  }
+}
@@ -0,0 +1,51 @@
+package com.moneytracker.config;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.web.servlet.HandlerInterceptor;
+import org.springframework.web.servlet.HandlerMapping;
+
+/**
+ * Records how many SQL statements and loaded entities each request cost, per endpoint, as
+ * {@code hibernate.request.statements} and {@code hibernate.request.entities.loaded}. Work
+ * done after an async request has been handed off (streaming exports) is not included.
+ */
+public class HibernateRequestStatisticsInterceptor implements HandlerInterceptor {
+
+  private final MeterRegistry meterRegistry;
+
+  public HibernateRequestStatisticsInterceptor(MeterRegistry meterRegistry) {
+    this.meterRegistry = meterRegistry;
+  }
+
+  @Override
+  public boolean preHandle(HttpServletRequest request, HttpServletResponse response,
+      Object handler) {
+    HibernateRequestStatistics.reset();
+    return true;
+  }
+
+  @Override
+  public void afterCompletion(HttpServletRequest request, HttpServletResponse response,
+      Object handler, Exception ex) {
+    Object pattern = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+    String uri = pattern == null ? "UNKNOWN" : pattern.toString();
+
+    summary("hibernate.request.statements", "SQL statements prepared per request",
+        request.getMethod(), uri).record(HibernateRequestStatistics.statements());
+    summary("hibernate.request.entities.loaded", "Entities loaded per request",
+        request.getMethod(), uri).record(HibernateRequestStatistics.entitiesLoaded());
+  }
+
+  private DistributionSummary summary(String name, String description, String method,
+      String uri) {
+    return DistributionSummary.builder(name)
+        .description(description)
+        .tag("method", method)
+        .tag("uri", uri)
+        .publishPercentiles(0.5, 0.95, 0.99)
+        .register(meterRegistry);
+  }
+}
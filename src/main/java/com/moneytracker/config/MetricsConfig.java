@@ -0,0 +1,45 @@
+package com.moneytracker.config;
+
+import io.micrometer.core.aop.TimedAspect;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.hibernate.cfg.AvailableSettings;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+/**
+ * Metrics beyond what Actuator records on its own: {@code @Timed} service methods, and per
+ * request SQL statement and entity counts. Session factory wide Hibernate statistics are
+ * published by Actuator under {@code hibernate.*} once {@code generate_statistics} is on.
+ */
+@Configuration
+public class MetricsConfig implements WebMvcConfigurer {
+
+  private final MeterRegistry meterRegistry;
+  private final HibernateRequestStatistics hibernateRequestStatistics =
+      new HibernateRequestStatistics();
+
+  public MetricsConfig(MeterRegistry meterRegistry) {
+    this.meterRegistry = meterRegistry;
+  }
+
+  @Bean
+  public TimedAspect timedAspect() {
+    return new TimedAspect(meterRegistry);
+  }
+
+  @Bean
+  public HibernatePropertiesCustomizer hibernateRequestStatisticsCustomizer() {
+    return properties -> {
+      properties.put(AvailableSettings.STATEMENT_INSPECTOR, hibernateRequestStatistics);
+      properties.put(AvailableSettings.INTERCEPTOR, hibernateRequestStatistics);
+    };
+  }
+
+  @Override
+  public void addInterceptors(InterceptorRegistry registry) {
+    registry.addInterceptor(new HibernateRequestStatisticsInterceptor(meterRegistry));
+  }
+}
@@ -0,0 +1,23 @@
+package com.moneytracker.config;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Overrides the default query budget for one endpoint, or for every endpoint of a controller.
+ * A negative value keeps the configured default for that limit.
+ */
+@Target({ElementType.METHOD, ElementType.TYPE})
+@Retention(RetentionPolicy.RUNTIME)
+@Documented
+public @interface QueryBudget {
+
+  /** SQL statements Hibernate may prepare while handling the request. */
+  long statements() default -1;
+
+  /** Entities Hibernate may load while handling the request. */
+  long entities() default -1;
+}
@@ -0,0 +1,35 @@
+package com.moneytracker.config;
+
+import com.moneytracker.config.QueryBudgetInterceptor.Mode;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+/**
+ * Applies the per-request query budget to every controller endpoint. Counting relies on the
+ * Hibernate statement inspector and interceptor registered by {@link MetricsConfig}.
+ */
+@Configuration
+public class QueryBudgetConfig implements WebMvcConfigurer {
+
+  private final QueryBudgetInterceptor queryBudgetInterceptor;
+
+  public QueryBudgetConfig(
+      @Value("${money-tracker.query-budget.mode:LOG}") Mode mode,
+      @Value("${money-tracker.query-budget.max-statements:50}") long maxStatements,
+      @Value("${money-tracker.query-budget.max-entities:1000}") long maxEntities) {
+    this.queryBudgetInterceptor = new QueryBudgetInterceptor(mode, maxStatements, maxEntities);
+  }
+
+  @Bean
+  public QueryBudgetInterceptor queryBudgetInterceptor() {
+    return queryBudgetInterceptor;
+  }
+
+  @Override
+  public void addInterceptors(InterceptorRegistry registry) {
+    registry.addInterceptor(queryBudgetInterceptor);
+  }
+}
@@ -0,0 +1,20 @@
+package com.moneytracker.config;
+
+/**
+ * A request prepared more SQL statements or loaded more entities than its query budget allows.
+ */
+public class QueryBudgetExceededException extends RuntimeException {
+
+  private final String endpoint;
+
+  public QueryBudgetExceededException(String endpoint, long statements, long maxStatements,
+      long entities, long maxEntities) {
+    super("Query budget exceeded by " + endpoint + ": " + statements + " statements (budget "
+        + maxStatements + "), " + entities + " entities loaded (budget " + maxEntities + ")");
+    this.endpoint = endpoint;
+  }
+
+  public String getEndpoint() {
+    return endpoint;
+  }
+}
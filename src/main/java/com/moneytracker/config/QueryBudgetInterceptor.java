@@ -0,0 +1,128 @@
+package com.moneytracker.config;
+
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import java.util.ArrayList;
+import java.util.List;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.core.annotation.AnnotatedElementUtils;
+import org.springframework.web.method.HandlerMethod;
+import org.springframework.web.servlet.AsyncHandlerInterceptor;
+import org.springframework.web.servlet.HandlerMapping;
+
+/**
+ * Per-request guardrail on the SQL statements and entities Hibernate may spend on one HTTP
+ * request, so endpoints that slip into N+1 queries or hydrate whole tables are noticed. The
+ * budget comes from {@link QueryBudget} on the handler or the configured defaults; what
+ * happens when it is exceeded depends on the {@link Mode}.
+ */
+public class QueryBudgetInterceptor implements AsyncHandlerInterceptor {
+
+  private static final Logger log = LoggerFactory.getLogger(QueryBudgetInterceptor.class);
+
+  public enum Mode {
+    /** No budget is checked. */
+    OFF,
+    /** Requests over budget complete normally and are logged with their endpoint. */
+    LOG,
+    /** The statement or entity that goes over budget fails the request. */
+    REJECT,
+    /** Like LOG, and every violation is kept for {@link #drainViolations()}; for tests. */
+    FAIL
+  }
+
+  private final Mode mode;
+  private final long maxStatements;
+  private final long maxEntities;
+  private final List<String> violations = new ArrayList<>();
+
+  public QueryBudgetInterceptor(Mode mode, long maxStatements, long maxEntities) {
+    this.mode = mode;
+    this.maxStatements = maxStatements;
+    this.maxEntities = maxEntities;
+  }
+
+  @Override
+  public boolean preHandle(HttpServletRequest request, HttpServletResponse response,
+      Object handler) {
+    // counting starts afresh for every request, whichever interceptor gets here first
+    HibernateRequestStatistics.reset();
+    if (mode == Mode.REJECT) {
+      QueryBudget budget = budgetOf(handler);
+      HibernateRequestStatistics.limit(endpoint(request, handler),
+          statementsAllowed(budget), entitiesAllowed(budget));
+    }
+    return true;
+  }
+
+  @Override
+  public void afterConcurrentHandlingStarted(HttpServletRequest request,
+      HttpServletResponse response, Object handler) {
+    HibernateRequestStatistics.clearLimit();
+  }
+
+  @Override
+  public void afterCompletion(HttpServletRequest request, HttpServletResponse response,
+      Object handler, Exception ex) {
+    HibernateRequestStatistics.clearLimit();
+    if (mode == Mode.OFF || mode == Mode.REJECT) {
+      return;
+    }
+
+    QueryBudget budget = budgetOf(handler);
+    long statements = HibernateRequestStatistics.statements();
+    long entities = HibernateRequestStatistics.entitiesLoaded();
+    if (statements <= statementsAllowed(budget) && entities <= entitiesAllowed(budget)) {
+      return;
+    }
+    String violation = new QueryBudgetExceededException(endpoint(request, handler), statements,
+        statementsAllowed(budget), entities, entitiesAllowed(budget)).getMessage();
+    log.warn(violation);
+    if (mode == Mode.FAIL) {
+      synchronized (violations) {
+        violations.add(violation);
+      }
+    }
+  }
+
+  /**
+   * Returns and forgets the violations recorded in {@link Mode#FAIL} mode.
+   */
+  public List<String> drainViolations() {
+    synchronized (violations) {
+      List<String> drained = new ArrayList<>(violations);
+      violations.clear();
+      return drained;
+    }
+  }
+
+  private long statementsAllowed(QueryBudget budget) {
+    return budget == null || budget.statements() < 0 ? maxStatements : budget.statements();
+  }
+
+  private long entitiesAllowed(QueryBudget budget) {
+    return budget == null || budget.entities() < 0 ? maxEntities : budget.entities();
+  }
+
+  private static QueryBudget budgetOf(Object handler) {
+    if (!(handler instanceof HandlerMethod handlerMethod)) {
+      return null;
+    }
+    QueryBudget budget = handlerMethod.getMethodAnnotation(QueryBudget.class);
+    return budget != null ? budget
+        : AnnotatedElementUtils.findMergedAnnotation(handlerMethod.getBeanType(),
+            QueryBudget.class);
+  }
+
+  private static String endpoint(HttpServletRequest request, Object handler) {
+    Object pattern = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+    String endpoint = request.getMethod() + " "
+        + (pattern == null ? request.getRequestURI() : pattern);
+    if (handler instanceof HandlerMethod handlerMethod) {
+      endpoint += " (" + handlerMethod.getBeanType().getSimpleName() + "#"
+          + handlerMethod.getMethod().getName() + ")";
+    }
+    return endpoint;
+  }
+}
@@ -0,0 +1,37 @@
+package com.moneytracker.config;
+
+import com.zaxxer.hikari.HikariDataSource;
+import jakarta.persistence.EntityManagerFactory;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.orm.jpa.JpaTransactionManager;
+import org.springframework.transaction.PlatformTransactionManager;
+
+/**
+ * Lets the JPA write path and the R2DBC read path live side by side. Spring Boot backs off
+ * from creating a DataSource and a JPA transaction manager once an R2DBC connection factory
+ * is present, so both are declared here exactly as Boot would have configured them; the JPA
+ * transaction manager is primary so {@code @Transactional} keeps meaning JDBC.
+ */
+@Configuration
+@EnableConfigurationProperties(DataSourceProperties.class)
+public class R2dbcConfig {
+
+  @Bean
+  @Primary
+  @ConfigurationProperties("spring.datasource.hikari")
+  public HikariDataSource dataSource(DataSourceProperties properties) {
+    return properties.initializeDataSourceBuilder().type(HikariDataSource.class).build();
+  }
+
+  @Bean
+  @Primary
+  public PlatformTransactionManager transactionManager(
+      EntityManagerFactory entityManagerFactory) {
+    return new JpaTransactionManager(entityManagerFactory);
+  }
+}
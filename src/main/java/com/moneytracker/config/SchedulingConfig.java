@@ -0,0 +1,10 @@
+package com.moneytracker.config;
+
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.EnableScheduling;
+
+/** Runs the {@code @Scheduled} jobs, such as the archiving of old transactions. */
+@Configuration
+@EnableScheduling
+public class SchedulingConfig {
+}
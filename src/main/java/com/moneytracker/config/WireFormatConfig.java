@@ -0,0 +1,47 @@
+package com.moneytracker.config;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import com.fasterxml.jackson.dataformat.smile.SmileGenerator;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.converter.cbor.MappingJackson2CborHttpMessageConverter;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.http.converter.smile.MappingJackson2SmileHttpMessageConverter;
+
+/**
+ * Binary alternatives to JSON, picked by the Accept header: CBOR ({@code application/cbor})
+ * and Smile ({@code application/x-jackson-smile}). Both are built from the application's Jackson
+ * settings, so the payloads have the same shape as the JSON ones, and they take the place of
+ * Spring's default binary converters after JSON, which stays the default. Smile also refers back
+ * to short string values it has already written, so the enum names and dates repeated on every
+ * row of a list are sent once.
+ */
+@Configuration
+public class WireFormatConfig {
+
+  @Bean
+  public MappingJackson2CborHttpMessageConverter cborHttpMessageConverter(
+      Jackson2ObjectMapperBuilder builder) {
+    return new MappingJackson2CborHttpMessageConverter(cborMapper(builder));
+  }
+
+  @Bean
+  public MappingJackson2SmileHttpMessageConverter smileHttpMessageConverter(
+      Jackson2ObjectMapperBuilder builder) {
+    return new MappingJackson2SmileHttpMessageConverter(smileMapper(builder));
+  }
+
+  public static ObjectMapper cborMapper(Jackson2ObjectMapperBuilder builder) {
+    return builder.createXmlMapper(false).factory(new CBORFactory()).build();
+  }
+
+  public static ObjectMapper smileMapper(Jackson2ObjectMapperBuilder builder) {
+    return builder.createXmlMapper(false)
+        .factory(SmileFactory.builder()
+            .enable(SmileGenerator.Feature.CHECK_SHARED_STRING_VALUES)
+            .build())
+        .build();
+  }
+}
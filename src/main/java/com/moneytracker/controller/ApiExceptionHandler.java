@@ -0,0 +1,64 @@
+package com.moneytracker.controller;
+
+import com.moneytracker.config.QueryBudgetExceededException;
+import com.moneytracker.service.ArchivedTransactionException;
+import com.moneytracker.service.TransactionNotConfirmedException;
+import java.util.concurrent.RejectedExecutionException;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.data.mapping.PropertyReferenceException;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ProblemDetail;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.ExceptionHandler;
+import org.springframework.web.bind.annotation.RestControllerAdvice;
+
+@RestControllerAdvice
+public class ApiExceptionHandler {
+
+  @ExceptionHandler(IllegalArgumentException.class)
+  public ProblemDetail handleIllegalArgument(IllegalArgumentException e) {
+    return ProblemDetail.forStatusAndDetail(HttpStatus.BAD_REQUEST, e.getMessage());
+  }
+
+  /** The row changed since the version the client (or the cache) last saw. */
+  @ExceptionHandler(OptimisticLockingFailureException.class)
+  public ProblemDetail handleOptimisticLocking(OptimisticLockingFailureException e) {
+    return ProblemDetail.forStatusAndDetail(HttpStatus.CONFLICT, e.getMessage());
+  }
+
+  /** Archived transactions are read-only. */
+  @ExceptionHandler(ArchivedTransactionException.class)
+  public ProblemDetail handleArchivedTransaction(ArchivedTransactionException e) {
+    return ProblemDetail.forStatusAndDetail(HttpStatus.CONFLICT, e.getMessage());
+  }
+
+  /** The write-behind ingestion queue is full or shutting down; the client should retry. */
+  @ExceptionHandler(RejectedExecutionException.class)
+  public ResponseEntity<ProblemDetail> handleRejectedExecution(RejectedExecutionException e) {
+    return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+        .header(HttpHeaders.RETRY_AFTER, "1")
+        .body(ProblemDetail.forStatusAndDetail(HttpStatus.SERVICE_UNAVAILABLE, e.getMessage()));
+  }
+
+  /**
+   * A write-behind row was accepted but its commit was not confirmed in time. It may still be
+   * written, so there is no {@code Retry-After}: a blind retry could create it twice.
+   */
+  @ExceptionHandler(TransactionNotConfirmedException.class)
+  public ProblemDetail handleTransactionNotConfirmed(TransactionNotConfirmedException e) {
+    return ProblemDetail.forStatusAndDetail(HttpStatus.GATEWAY_TIMEOUT, e.getMessage());
+  }
+
+  /** The endpoint went over its query budget in {@code REJECT} mode. */
+  @ExceptionHandler(QueryBudgetExceededException.class)
+  public ProblemDetail handleQueryBudgetExceeded(QueryBudgetExceededException e) {
+    return ProblemDetail.forStatusAndDetail(HttpStatus.INTERNAL_SERVER_ERROR, e.getMessage());
+  }
+
+  /** Unknown {@code sort} property on a paged endpoint. */
+  @ExceptionHandler(PropertyReferenceException.class)
+  public ProblemDetail handlePropertyReference(PropertyReferenceException e) {
+    return ProblemDetail.forStatusAndDetail(HttpStatus.BAD_REQUEST, e.getMessage());
+  }
+}
@@ -0,0 +1,69 @@
+package com.moneytracker.controller;
+
+import com.moneytracker.model.AccountType;
+import com.moneytracker.model.Category;
+import com.moneytracker.model.ListTransactionRequest;
+import com.moneytracker.model.Transaction;
+import com.moneytracker.model.TransactionSummary;
+import com.moneytracker.model.TransactionType;
+import com.moneytracker.service.ReactiveTransactionService;
+import java.time.LocalDate;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.format.annotation.DateTimeFormat.ISO;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.CrossOrigin;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+/**
+ * Non-blocking variants of the read endpoints of {@link TransactionController}. Collections are
+ * streamed as newline-delimited JSON and written as rows arrive; the request thread is released
+ * while the query runs and a slow client holds back the query rather than a thread.
+ */
+@RestController
+@RequestMapping("/api/reactive/transactions")
+@CrossOrigin(origins = "*")
+public class ReactiveTransactionController {
+
+  @Autowired private ReactiveTransactionService reactiveTransactionService;
+
+  @PostMapping(value = "/list", produces = MediaType.APPLICATION_NDJSON_VALUE)
+  public Flux<Transaction> listTransactions(@RequestBody ListTransactionRequest request) {
+    return reactiveTransactionService.listTransactions(request);
+  }
+
+  @GetMapping("/{id}")
+  public Mono<ResponseEntity<Transaction>> getTransactionById(@PathVariable long id) {
+    return reactiveTransactionService.getTransactionById(id)
+        .map(ResponseEntity::ok)
+        .defaultIfEmpty(ResponseEntity.notFound().build());
+  }
+
+  @GetMapping("/summary")
+  public Mono<TransactionSummary> getTransactionSummary(
+      @RequestParam(required = false) @DateTimeFormat(iso = ISO.DATE) LocalDate from,
+      @RequestParam(required = false) @DateTimeFormat(iso = ISO.DATE) LocalDate to,
+      @RequestParam(required = false) Category category,
+      @RequestParam(required = false) AccountType accountType) {
+    return reactiveTransactionService.getTransactionSummary(from, to, category, accountType);
+  }
+
+  @GetMapping(value = "/by-type/{type}", produces = MediaType.APPLICATION_NDJSON_VALUE)
+  public Flux<Transaction> getTransactionsByType(@PathVariable TransactionType type) {
+    return reactiveTransactionService.getTransactionsByType(type);
+  }
+
+  @GetMapping(value = "/by-category/{category}", produces = MediaType.APPLICATION_NDJSON_VALUE)
+  public Flux<Transaction> getTransactionsByCategory(@PathVariable Category category) {
+    return reactiveTransactionService.getTransactionsByCategory(category);
+  }
+}
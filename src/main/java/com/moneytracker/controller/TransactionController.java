@@ -1,18 +1,43 @@
 package com.moneytracker.controller;
 
+import com.moneytracker.config.QueryBudget;
+import com.moneytracker.model.AccountType;
+import com.moneytracker.model.BulkTransactionRequest;
+import com.moneytracker.model.BulkTransactionResponse;
 import com.moneytracker.model.Category;
+import com.moneytracker.model.ExportFormat;
 import com.moneytracker.model.ListTransactionRequest;
 import com.moneytracker.model.ListTransactionResponse;
 import com.moneytracker.model.Transaction;
+import com.moneytracker.model.TransactionBreakdown;
+import com.moneytracker.model.TransactionChanges;
+import com.moneytracker.model.TransactionDailyBalance;
+import com.moneytracker.model.TransactionPage;
 import com.moneytracker.model.TransactionSummary;
 import com.moneytracker.model.TransactionType;
+import com.moneytracker.service.BulkTransactionService;
+import com.moneytracker.service.TransactionBreakdownService;
+import com.moneytracker.service.TransactionChangeLog;
+import com.moneytracker.service.TransactionExporter;
 import com.moneytracker.service.TransactionService;
+import com.moneytracker.service.TransactionWriteBehindQueue;
 import jakarta.validation.Valid;
+import java.time.LocalDate;
 import java.util.List;
 import java.util.Optional;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.Sort.Direction;
+import org.springframework.data.web.PageableDefault;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.format.annotation.DateTimeFormat.ISO;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.InvalidMediaTypeException;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
+import org.springframework.util.MimeTypeUtils;
 import org.springframework.web.bind.annotation.CrossOrigin;
 import org.springframework.web.bind.annotation.DeleteMapping;
 import org.springframework.web.bind.annotation.GetMapping;
@@ -21,20 +46,58 @@ import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.PutMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.ServletWebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+/**
+ * Transaction API. The list and summary endpoints answer conditional GETs: their ETag is the
+ * last change sequence, so a client whose copy is current gets a 304 before any query runs.
+ * Single transactions are tagged with their version instead. Responses come as JSON, CBOR or
+ * Smile depending on the Accept header (see {@code WireFormatConfig}), and each representation
+ * has its own ETag. ETags are weak so that large responses can still be gzipped.
+ */
 @RestController
 @RequestMapping("/api/transactions")
 @CrossOrigin(origins = "*")
 public class TransactionController {
 
+  private static final MediaType SMILE = MediaType.parseMediaType("application/x-jackson-smile");
+
   @Autowired private TransactionService transactionService;
 
+  @Autowired private TransactionExporter transactionExporter;
+
+  @Autowired private BulkTransactionService bulkTransactionService;
+
+  @Autowired private TransactionBreakdownService transactionBreakdownService;
+
+  @Autowired private TransactionChangeLog transactionChangeLog;
+
+  /** Present only when write-behind ingestion is enabled. */
+  @Autowired(required = false) private TransactionWriteBehindQueue transactionWriteBehindQueue;
+
   @GetMapping
-  public ResponseEntity<List<Transaction>> getAllTransactions() {
+  public ResponseEntity<List<Transaction>> getAllTransactions(ServletWebRequest request) {
+    if (notModified(request)) {
+      return null;
+    }
     return ResponseEntity.ok(transactionService.getAllTransactions());
   }
 
+  @GetMapping("/export")
+  public ResponseEntity<StreamingResponseBody> exportTransactions(
+      @RequestParam(defaultValue = "NDJSON") ExportFormat format) {
+    StreamingResponseBody body = out -> transactionExporter.export(format, out);
+
+    return ResponseEntity.ok()
+        .contentType(MediaType.parseMediaType(format.getMediaType()))
+        .header(HttpHeaders.CONTENT_DISPOSITION,
+            "attachment; filename=\"transactions." + format.getFileExtension() + "\"")
+        .body(body);
+  }
+
   @PostMapping("/list")
   public ResponseEntity<ListTransactionResponse> listTransactions (
       @RequestBody ListTransactionRequest request) {
@@ -43,20 +106,55 @@ public class TransactionController {
   }
 
   @GetMapping("/{id}")
-  public ResponseEntity<Transaction> getTransactionById(@PathVariable long id) {
+  public ResponseEntity<Transaction> getTransactionById(@PathVariable long id,
+      ServletWebRequest request) {
     Optional<Transaction> transaction = transactionService.getTransactionById(id);
 
-    return transaction.map(ResponseEntity::ok)
+    // a matching If-None-Match turns this into a 304 before the body is written
+    return transaction.map(t -> ResponseEntity.ok()
+            .eTag(etag(t.getId() + "-" + t.getVersion(), request))
+            .varyBy(HttpHeaders.ACCEPT)
+            .body(t))
         .orElse(ResponseEntity.notFound().build());
   }
 
+  /**
+   * Delta sync: what changed after the sequence a client last saw, with tombstones for
+   * deleted transactions. Starting from 0 returns every transaction.
+   */
+  @GetMapping("/changes")
+  @QueryBudget(entities = 2 * TransactionChangeLog.MAX_LIMIT + 1)
+  public ResponseEntity<TransactionChanges> getChanges(
+      @RequestParam(defaultValue = "0") long since,
+      @RequestParam(defaultValue = "" + TransactionChangeLog.DEFAULT_LIMIT) int limit) {
+    return ResponseEntity.ok(transactionChangeLog.changesSince(since, limit));
+  }
+
   @PostMapping
   public ResponseEntity<Transaction> createTransaction(
       @Valid @RequestBody Transaction transaction) {
-    Transaction createdTransaction = transactionService.createTransaction(transaction);
+    // the write-behind queue blocks until the row is committed, so it is called outside of
+    // the service's transaction
+    Transaction createdTransaction = transactionWriteBehindQueue == null
+        ? transactionService.createTransaction(transaction)
+        : transactionWriteBehindQueue.create(transaction);
     return ResponseEntity.status(HttpStatus.CREATED).body(createdTransaction);
   }
 
+  @PostMapping("/bulk")
+  public ResponseEntity<BulkTransactionResponse> createTransactions(
+      @RequestBody BulkTransactionRequest request) {
+    BulkTransactionResponse response = bulkTransactionService.createTransactions(request);
+
+    if (response.getFailed() == 0) {
+      return ResponseEntity.status(HttpStatus.CREATED).body(response);
+    }
+    if (response.getCreated() == 0) {
+      return ResponseEntity.badRequest().body(response);
+    }
+    return ResponseEntity.ok(response);
+  }
+
   @PutMapping("/{id}")
   public ResponseEntity<Transaction> updateTransaction(@PathVariable Long id,
       @Valid @RequestBody Transaction updatedTransaction) {
@@ -80,15 +178,84 @@ public class TransactionController {
   }
 
   @GetMapping("/summary")
-  public ResponseEntity<TransactionSummary> getTransactionSummary() {
+  public ResponseEntity<TransactionSummary> getTransactionSummary(
+      @RequestParam(required = false) @DateTimeFormat(iso = ISO.DATE) LocalDate from,
+      @RequestParam(required = false) @DateTimeFormat(iso = ISO.DATE) LocalDate to,
+      @RequestParam(required = false) Category category,
+      @RequestParam(required = false) AccountType accountType,
+      ServletWebRequest request) {
+    if (notModified(request)) {
+      return null;
+    }
 
-    TransactionSummary summary = transactionService.getTransactionSummary();
+    TransactionSummary summary = transactionService.getTransactionSummary(from, to, category,
+        accountType);
     return ResponseEntity.ok(summary);
   }
 
+  @GetMapping("/summary/range")
+  public ResponseEntity<TransactionSummary> getTransactionSummaryForRange(
+      @RequestParam(required = false) @DateTimeFormat(iso = ISO.DATE) LocalDate from,
+      @RequestParam(required = false) @DateTimeFormat(iso = ISO.DATE) LocalDate to,
+      ServletWebRequest request) {
+    if (notModified(request)) {
+      return null;
+    }
+
+    return ResponseEntity.ok(transactionService.getTransactionSummaryForRange(from, to));
+  }
+
+  @GetMapping("/summary/running-balance")
+  public ResponseEntity<List<TransactionDailyBalance>> getRunningBalance(
+      @RequestParam @DateTimeFormat(iso = ISO.DATE) LocalDate from,
+      @RequestParam @DateTimeFormat(iso = ISO.DATE) LocalDate to,
+      ServletWebRequest request) {
+    if (notModified(request)) {
+      return null;
+    }
+
+    return ResponseEntity.ok(transactionService.getRunningBalance(from, to));
+  }
+
+  @GetMapping("/breakdown")
+  public ResponseEntity<TransactionBreakdown> getTransactionBreakdown(
+      @RequestParam(required = false) @DateTimeFormat(iso = ISO.DATE) LocalDate from,
+      @RequestParam(required = false) @DateTimeFormat(iso = ISO.DATE) LocalDate to,
+      ServletWebRequest request) {
+    if (notModified(request)) {
+      return null;
+    }
+
+    TransactionBreakdown breakdown = transactionBreakdownService.getBreakdown(from, to);
+    return ResponseEntity.ok(breakdown);
+  }
+
+  @GetMapping("/search")
+  public ResponseEntity<TransactionPage> searchTransactions(
+      @RequestParam("q") String query,
+      @RequestParam(required = false) TransactionType type,
+      @RequestParam(required = false) Category category,
+      @RequestParam(required = false) AccountType accountType,
+      @RequestParam(required = false) @DateTimeFormat(iso = ISO.DATE) LocalDate from,
+      @RequestParam(required = false) @DateTimeFormat(iso = ISO.DATE) LocalDate to,
+      @PageableDefault(size = 50) Pageable pageable,
+      ServletWebRequest request) {
+    if (notModified(request)) {
+      return null;
+    }
+    TransactionPage page = transactionService.searchTransactions(query, type, category,
+        accountType, from, to, pageable);
+
+    return ResponseEntity.ok(page);
+  }
+
   @GetMapping("/by-type/{type}")
   public ResponseEntity<List<Transaction>> getTransactionsByType(
-      @PathVariable TransactionType type) {
+      @PathVariable TransactionType type,
+      ServletWebRequest request) {
+    if (notModified(request)) {
+      return null;
+    }
     List<Transaction> filteredTransactions = transactionService.getTransactionsByType(type);
 
     return ResponseEntity.ok(filteredTransactions);
@@ -96,9 +263,82 @@ public class TransactionController {
 
   @GetMapping("/by-category/{category}")
   public ResponseEntity<List<Transaction>> getTransactionsByCategory(
-      @PathVariable Category category) {
+      @PathVariable Category category,
+      ServletWebRequest request) {
+    if (notModified(request)) {
+      return null;
+    }
     List<Transaction> filteredTransactions = transactionService.getTransactionsByCategory(category);
 
     return ResponseEntity.ok(filteredTransactions);
   }
+
+  @GetMapping("/by-type/{type}/page")
+  public ResponseEntity<TransactionPage> getTransactionsByTypePage(
+      @PathVariable TransactionType type,
+      @PageableDefault(size = 50, sort = {"date", "id"}, direction = Direction.DESC)
+      Pageable pageable,
+      ServletWebRequest request) {
+    if (notModified(request)) {
+      return null;
+    }
+    Slice<Transaction> page = transactionService.getTransactionsByType(type, pageable);
+
+    return ResponseEntity.ok(TransactionPage.of(page));
+  }
+
+  @GetMapping("/by-category/{category}/page")
+  public ResponseEntity<TransactionPage> getTransactionsByCategoryPage(
+      @PathVariable Category category,
+      @PageableDefault(size = 50, sort = {"date", "id"}, direction = Direction.DESC)
+      Pageable pageable,
+      ServletWebRequest request) {
+    if (notModified(request)) {
+      return null;
+    }
+    Slice<Transaction> page = transactionService.getTransactionsByCategory(category, pageable);
+
+    return ResponseEntity.ok(TransactionPage.of(page));
+  }
+
+  /** Sets the ETag of the current ledger state; true if the client's copy is current. */
+  private boolean notModified(ServletWebRequest request) {
+    request.getResponse().addHeader(HttpHeaders.VARY, HttpHeaders.ACCEPT);
+    return request.checkNotModified(etag(String.valueOf(transactionChangeLog.version()),
+        request));
+  }
+
+  /**
+   * Weak, because Tomcat does not compress a response carrying a strong ETag (a compressed body
+   * is not byte-identical); conditional GETs compare weakly anyway.
+   */
+  private static String etag(String version, ServletWebRequest request) {
+    return "W/\"" + version + representation(request) + "\"";
+  }
+
+  /** ETag suffix of the wire format the Accept header will select; empty for JSON. */
+  private static String representation(ServletWebRequest request) {
+    String accept = request.getHeader(HttpHeaders.ACCEPT);
+    if (accept == null) {
+      return "";
+    }
+    try {
+      List<MediaType> accepted = MediaType.parseMediaTypes(accept);
+      MimeTypeUtils.sortBySpecificity(accepted);
+      for (MediaType type : accepted) {
+        if (type.isCompatibleWith(MediaType.APPLICATION_JSON)) {
+          return "";
+        }
+        if (type.isCompatibleWith(MediaType.APPLICATION_CBOR)) {
+          return "-cbor";
+        }
+        if (type.isCompatibleWith(SMILE)) {
+          return "-smile";
+        }
+      }
+    } catch (InvalidMediaTypeException e) {
+      // rejected by content negotiation anyway
+    }
+    return "";
+  }
 }
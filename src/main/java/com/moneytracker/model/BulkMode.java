@@ -0,0 +1,8 @@
+package com.moneytracker.model;
+
+public enum BulkMode {
+  /** Insert nothing unless every row is valid and every batch succeeds. */
+  ALL_OR_NOTHING,
+  /** Insert the valid rows, committing batch by batch, and report the rest as failed. */
+  PARTIAL
+}
@@ -0,0 +1,33 @@
+package com.moneytracker.model;
+
+import java.util.List;
+
+public class BulkTransactionRequest {
+
+  private List<Transaction> transactions;
+  private BulkMode mode = BulkMode.ALL_OR_NOTHING;
+
+  public BulkTransactionRequest() {
+  }
+
+  public BulkTransactionRequest(List<Transaction> transactions, BulkMode mode) {
+    this.transactions = transactions;
+    this.mode = mode;
+  }
+
+  public List<Transaction> getTransactions() {
+    return transactions;
+  }
+
+  public void setTransactions(List<Transaction> transactions) {
+    this.transactions = transactions;
+  }
+
+  public BulkMode getMode() {
+    return mode;
+  }
+
+  public void setMode(BulkMode mode) {
+    this.mode = mode;
+  }
+}
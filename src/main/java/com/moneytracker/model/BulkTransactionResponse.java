@@ -0,0 +1,28 @@
+package com.moneytracker.model;
+
+import java.util.List;
+
+public class BulkTransactionResponse {
+
+  private final int created;
+  private final int failed;
+  private final List<BulkTransactionResult> results;
+
+  public BulkTransactionResponse(List<BulkTransactionResult> results) {
+    this.results = results;
+    this.created = (int) results.stream().filter(r -> r.getError() == null).count();
+    this.failed = results.size() - created;
+  }
+
+  public int getCreated() {
+    return created;
+  }
+
+  public int getFailed() {
+    return failed;
+  }
+
+  public List<BulkTransactionResult> getResults() {
+    return results;
+  }
+}
@@ -0,0 +1,37 @@
+package com.moneytracker.model;
+
+/**
+ * Outcome of one row of a bulk request: the generated id on success, otherwise the error.
+ */
+public class BulkTransactionResult {
+
+  private final int index;
+  private final Long id;
+  private final String error;
+
+  private BulkTransactionResult(int index, Long id, String error) {
+    this.index = index;
+    this.id = id;
+    this.error = error;
+  }
+
+  public static BulkTransactionResult created(int index, Long id) {
+    return new BulkTransactionResult(index, id, null);
+  }
+
+  public static BulkTransactionResult failed(int index, String error) {
+    return new BulkTransactionResult(index, null, error);
+  }
+
+  public int getIndex() {
+    return index;
+  }
+
+  public Long getId() {
+    return id;
+  }
+
+  public String getError() {
+    return error;
+  }
+}
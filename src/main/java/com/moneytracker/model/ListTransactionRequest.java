@@ -1,5 +1,95 @@
 package com.moneytracker.model;
 
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
 public class ListTransactionRequest {
 
+  private TransactionType type;
+  private Category category;
+  private AccountType accountType;
+  private LocalDate fromDate;
+  private LocalDate toDate;
+  private BigDecimal minAmount;
+  private BigDecimal maxAmount;
+  private Integer pageSize;
+  private String cursor;
+
+  public ListTransactionRequest() {
+  }
+
+  public TransactionType getType() {
+    return type;
+  }
+
+  public void setType(TransactionType type) {
+    this.type = type;
+  }
+
+  public Category getCategory() {
+    return category;
+  }
+
+  public void setCategory(Category category) {
+    this.category = category;
+  }
+
+  public AccountType getAccountType() {
+    return accountType;
+  }
+
+  public void setAccountType(AccountType accountType) {
+    this.accountType = accountType;
+  }
+
+  public LocalDate getFromDate() {
+    return fromDate;
+  }
+
+  public void setFromDate(LocalDate fromDate) {
+    this.fromDate = fromDate;
+  }
+
+  public LocalDate getToDate() {
+    return toDate;
+  }
+
+  public void setToDate(LocalDate toDate) {
+    this.toDate = toDate;
+  }
+
+  public BigDecimal getMinAmount() {
+    return minAmount;
+  }
+
+  public void setMinAmount(BigDecimal minAmount) {
+    this.minAmount = minAmount;
+  }
+
+  public BigDecimal getMaxAmount() {
+    return maxAmount;
+  }
+
+  public void setMaxAmount(BigDecimal maxAmount) {
+    this.maxAmount = maxAmount;
+  }
+
+  public Integer getPageSize() {
+    return pageSize;
+  }
+
+  public void setPageSize(Integer pageSize) {
+    this.pageSize = pageSize;
+  }
+
+  /**
+   * Opaque token returned as {@code nextCursor} by the previous page; null for the first page.
+   */
+  public String getCursor() {
+    return cursor;
+  }
+
+  public void setCursor(String cursor) {
+    this.cursor = cursor;
+  }
 }
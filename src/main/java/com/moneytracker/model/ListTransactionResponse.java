@@ -5,6 +5,7 @@ import java.util.List;
 public class ListTransactionResponse {
 
   private List<Transaction> transactionList;
+  private String nextCursor;
 
  public ListTransactionResponse() {
   }
@@ -13,6 +14,11 @@ public class ListTransactionResponse {
     this.transactionList = transactionList;
   }
 
+  public ListTransactionResponse(List<Transaction> transactionList, String nextCursor) {
+    this.transactionList = transactionList;
+    this.nextCursor = nextCursor;
+  }
+
   public List<Transaction> getTransactionList() {
     return transactionList;
   }
@@ -21,4 +27,15 @@ public class ListTransactionResponse {
     this.transactionList = transactionList;
   }
 
+  /**
+   * Cursor to pass back for the following page, or null when this is the last page.
+   */
+  public String getNextCursor() {
+    return nextCursor;
+  }
+
+  public void setNextCursor(String nextCursor) {
+    this.nextCursor = nextCursor;
+  }
+
 }
\ No newline at end of file
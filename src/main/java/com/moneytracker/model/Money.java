@@ -0,0 +1,40 @@
+package com.moneytracker.model;
+
+import java.math.BigDecimal;
+
+/**
+ * Fixed-point money arithmetic on {@code long} minor units (cents). Amounts stay
+ * {@link BigDecimal} on the entity and in JSON; aggregation, validation and in-memory indexes
+ * convert once with {@link #toCents} and then work on primitives. All arithmetic is exact and
+ * throws {@link ArithmeticException} on overflow rather than wrapping.
+ */
+public final class Money {
+
+  public static final int SCALE = 2;
+
+  private Money() {
+  }
+
+  /**
+   * @throws IllegalArgumentException if the amount has more than two decimal places
+   * @throws ArithmeticException if the amount does not fit in a long number of cents
+   */
+  public static long toCents(BigDecimal amount) {
+    if (amount.scale() > SCALE && amount.stripTrailingZeros().scale() > SCALE) {
+      throw new IllegalArgumentException("Amount can't have more than " + SCALE + " decimals");
+    }
+    return amount.movePointRight(SCALE).longValueExact();
+  }
+
+  public static BigDecimal fromCents(long cents) {
+    return BigDecimal.valueOf(cents, SCALE);
+  }
+
+  public static long add(long a, long b) {
+    return Math.addExact(a, b);
+  }
+
+  public static long subtract(long a, long b) {
+    return Math.subtractExact(a, b);
+  }
+}
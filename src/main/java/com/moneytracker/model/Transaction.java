@@ -10,7 +10,12 @@ import java.time.LocalDate;
 import java.time.LocalDateTime;
 
 @Entity
-@Table(name = "transactions")
+@Table(name = "transactions", indexes = {
+    @Index(name = "idx_transactions_type_date", columnList = "transaction_type, date"),
+    @Index(name = "idx_transactions_category_date", columnList = "category, date"),
+    @Index(name = "idx_transactions_account_type_date", columnList = "account_type, date"),
+    @Index(name = "idx_transactions_date", columnList = "date")
+})
 public class Transaction {
     
     @Id
@@ -52,6 +57,10 @@ public class Transaction {
     @Column(name = "updated_at")
     private LocalDateTime updatedAt;
 
+    @Version
+    @Column(name = "version", nullable = false)
+    private Long version;
+
     public Transaction() {}
     
     @PrePersist
@@ -163,4 +172,12 @@ public class Transaction {
     public void setUpdatedAt(LocalDateTime updatedAt) {
         this.updatedAt = updatedAt;
     }
+
+    public Long getVersion() {
+        return version;
+    }
+
+    public void setVersion(Long version) {
+        this.version = version;
+    }
 }
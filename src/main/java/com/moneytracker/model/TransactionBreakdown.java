@@ -0,0 +1,33 @@
+package com.moneytracker.model;
+
+import java.time.LocalDate;
+import java.util.List;
+
+/**
+ * Income and expense per month, category and account type for a date range. Combinations
+ * without transactions are left out.
+ */
+public class TransactionBreakdown {
+
+  private final LocalDate from;
+  private final LocalDate to;
+  private final List<TransactionBreakdownRow> rows;
+
+  public TransactionBreakdown(LocalDate from, LocalDate to, List<TransactionBreakdownRow> rows) {
+    this.from = from;
+    this.to = to;
+    this.rows = rows;
+  }
+
+  public LocalDate getFrom() {
+    return from;
+  }
+
+  public LocalDate getTo() {
+    return to;
+  }
+
+  public List<TransactionBreakdownRow> getRows() {
+    return rows;
+  }
+}
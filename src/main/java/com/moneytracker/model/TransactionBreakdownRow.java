@@ -0,0 +1,48 @@
+package com.moneytracker.model;
+
+import java.math.BigDecimal;
+import java.time.YearMonth;
+
+public class TransactionBreakdownRow {
+
+  private final YearMonth month;
+  private final Category category;
+  private final AccountType accountType;
+  private final BigDecimal income;
+  private final BigDecimal expense;
+  private final long transactionCount;
+
+  public TransactionBreakdownRow(YearMonth month, Category category, AccountType accountType,
+      BigDecimal income, BigDecimal expense, long transactionCount) {
+    this.month = month;
+    this.category = category;
+    this.accountType = accountType;
+    this.income = income;
+    this.expense = expense;
+    this.transactionCount = transactionCount;
+  }
+
+  public YearMonth getMonth() {
+    return month;
+  }
+
+  public Category getCategory() {
+    return category;
+  }
+
+  public AccountType getAccountType() {
+    return accountType;
+  }
+
+  public BigDecimal getIncome() {
+    return income;
+  }
+
+  public BigDecimal getExpense() {
+    return expense;
+  }
+
+  public long getTransactionCount() {
+    return transactionCount;
+  }
+}
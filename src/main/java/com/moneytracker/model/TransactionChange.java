@@ -0,0 +1,72 @@
+package com.moneytracker.model;
+
+import jakarta.persistence.*;
+import java.time.LocalDateTime;
+
+/**
+ * One entry of the change log read by delta sync: a transaction was created, updated or
+ * deleted. Sequence numbers come from the table's auto-increment when the entry is inserted,
+ * just before its transaction commits, so they can commit slightly out of order; readers treat
+ * a recent gap as a change still in flight (see {@code TransactionChangeLog}).
+ */
+@Entity
+@Table(name = "transaction_changes")
+public class TransactionChange {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @Column(name = "change_sequence")
+    private Long sequence;
+
+    @Column(name = "transaction_id", nullable = false)
+    private Long transactionId;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "change_type", nullable = false)
+    private TransactionChangeType type;
+
+    /** The transaction's {@code updatedAt} for creates and updates, the delete time otherwise. */
+    @Column(name = "changed_at")
+    private LocalDateTime changedAt;
+
+    /** When the entry was inserted; null for the entries that started the log. */
+    @Column(name = "recorded_at")
+    private LocalDateTime recordedAt;
+
+    public TransactionChange() {}
+
+    public TransactionChange(Long transactionId, TransactionChangeType type,
+                             LocalDateTime changedAt) {
+        this.transactionId = transactionId;
+        this.type = type;
+        this.changedAt = changedAt;
+    }
+
+    public Long getSequence() {
+        return sequence;
+    }
+
+    public void setSequence(Long sequence) {
+        this.sequence = sequence;
+    }
+
+    public Long getTransactionId() {
+        return transactionId;
+    }
+
+    public TransactionChangeType getType() {
+        return type;
+    }
+
+    public LocalDateTime getChangedAt() {
+        return changedAt;
+    }
+
+    public LocalDateTime getRecordedAt() {
+        return recordedAt;
+    }
+
+    public void setRecordedAt(LocalDateTime recordedAt) {
+        this.recordedAt = recordedAt;
+    }
+}
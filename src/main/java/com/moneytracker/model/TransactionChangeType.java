@@ -0,0 +1,8 @@
+package com.moneytracker.model;
+
+public enum TransactionChangeType {
+  CREATED,
+  UPDATED,
+  /** Tombstone: the transaction no longer exists. */
+  DELETED
+}
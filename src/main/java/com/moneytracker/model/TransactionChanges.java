@@ -0,0 +1,40 @@
+package com.moneytracker.model;
+
+import java.util.List;
+
+/**
+ * Everything that changed after a sync sequence: the current state of created or updated
+ * transactions and the ids of deleted ones. Clients store {@code sequence} and pass it as
+ * {@code since} next time; while {@code hasMore} is set they should ask again straight away.
+ */
+public class TransactionChanges {
+
+  private final List<Transaction> changed;
+  private final List<Long> deleted;
+  private final long sequence;
+  private final boolean hasMore;
+
+  public TransactionChanges(List<Transaction> changed, List<Long> deleted, long sequence,
+      boolean hasMore) {
+    this.changed = changed;
+    this.deleted = deleted;
+    this.sequence = sequence;
+    this.hasMore = hasMore;
+  }
+
+  public List<Transaction> getChanged() {
+    return changed;
+  }
+
+  public List<Long> getDeleted() {
+    return deleted;
+  }
+
+  public long getSequence() {
+    return sequence;
+  }
+
+  public boolean isHasMore() {
+    return hasMore;
+  }
+}
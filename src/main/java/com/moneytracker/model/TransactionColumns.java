@@ -0,0 +1,23 @@
+package com.moneytracker.model;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+/**
+ * The columns of a transaction that filters and aggregates use; everything but the text and
+ * audit fields.
+ */
+public interface TransactionColumns {
+
+  Long getId();
+
+  LocalDate getDate();
+
+  BigDecimal getAmount();
+
+  TransactionType getType();
+
+  Category getCategory();
+
+  AccountType getAccountType();
+}
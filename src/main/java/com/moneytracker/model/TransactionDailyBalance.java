@@ -0,0 +1,46 @@
+package com.moneytracker.model;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+/**
+ * One day of a running-balance series: that day's income, expense and transaction count, and
+ * the balance of the whole ledger at the end of the day.
+ */
+public class TransactionDailyBalance {
+
+  private final LocalDate date;
+  private final BigDecimal income;
+  private final BigDecimal expense;
+  private final long transactionCount;
+  private final BigDecimal balance;
+
+  public TransactionDailyBalance(LocalDate date, BigDecimal income, BigDecimal expense,
+      long transactionCount, BigDecimal balance) {
+    this.date = date;
+    this.income = income;
+    this.expense = expense;
+    this.transactionCount = transactionCount;
+    this.balance = balance;
+  }
+
+  public LocalDate getDate() {
+    return date;
+  }
+
+  public BigDecimal getIncome() {
+    return income;
+  }
+
+  public BigDecimal getExpense() {
+    return expense;
+  }
+
+  public long getTransactionCount() {
+    return transactionCount;
+  }
+
+  public BigDecimal getBalance() {
+    return balance;
+  }
+}
@@ -0,0 +1,18 @@
+package com.moneytracker.model;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+/**
+ * Aggregate row for one (date, type) combination.
+ */
+public interface TransactionDailyTotal {
+
+  LocalDate getDate();
+
+  TransactionType getType();
+
+  BigDecimal getTotal();
+
+  long getCount();
+}
@@ -0,0 +1,19 @@
+package com.moneytracker.model;
+
+import java.math.BigDecimal;
+
+/**
+ * Aggregate row for one (type, category, account type) combination.
+ */
+public interface TransactionGroupTotal {
+
+  TransactionType getType();
+
+  Category getCategory();
+
+  AccountType getAccountType();
+
+  BigDecimal getTotal();
+
+  long getCount();
+}
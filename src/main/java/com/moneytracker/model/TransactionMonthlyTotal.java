@@ -0,0 +1,23 @@
+package com.moneytracker.model;
+
+import java.math.BigDecimal;
+
+/**
+ * Aggregate row for one (month, category, account type, type) combination.
+ */
+public interface TransactionMonthlyTotal {
+
+  int getYear();
+
+  int getMonth();
+
+  Category getCategory();
+
+  AccountType getAccountType();
+
+  TransactionType getType();
+
+  BigDecimal getTotal();
+
+  long getCount();
+}
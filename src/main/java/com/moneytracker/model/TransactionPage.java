@@ -0,0 +1,44 @@
+package com.moneytracker.model;
+
+import java.util.List;
+import org.springframework.data.domain.Slice;
+
+/**
+ * One page of a paged listing. Built from a {@link Slice}, so there is no total count and
+ * no COUNT query behind it; {@code hasNext} tells clients whether to ask for more.
+ */
+public class TransactionPage {
+
+  private final List<Transaction> content;
+  private final int page;
+  private final int size;
+  private final boolean hasNext;
+
+  public TransactionPage(List<Transaction> content, int page, int size, boolean hasNext) {
+    this.content = content;
+    this.page = page;
+    this.size = size;
+    this.hasNext = hasNext;
+  }
+
+  public static TransactionPage of(Slice<Transaction> slice) {
+    return new TransactionPage(slice.getContent(), slice.getNumber(), slice.getSize(),
+        slice.hasNext());
+  }
+
+  public List<Transaction> getContent() {
+    return content;
+  }
+
+  public int getPage() {
+    return page;
+  }
+
+  public int getSize() {
+    return size;
+  }
+
+  public boolean isHasNext() {
+    return hasNext;
+  }
+}
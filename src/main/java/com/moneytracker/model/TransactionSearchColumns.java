@@ -0,0 +1,9 @@
+package com.moneytracker.model;
+
+/**
+ * The filterable columns of a transaction plus its description, for the search index.
+ */
+public interface TransactionSearchColumns extends TransactionColumns {
+
+  String getDescription();
+}
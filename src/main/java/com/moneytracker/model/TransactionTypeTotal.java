@@ -0,0 +1,15 @@
+package com.moneytracker.model;
+
+import java.math.BigDecimal;
+
+/**
+ * Aggregate row of the summary query: amount sum and row count for one {@link TransactionType}.
+ */
+public interface TransactionTypeTotal {
+
+  TransactionType getType();
+
+  BigDecimal getTotal();
+
+  long getCount();
+}
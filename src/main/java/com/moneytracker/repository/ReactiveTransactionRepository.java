@@ -0,0 +1,167 @@
+package com.moneytracker.repository;
+
+import com.moneytracker.model.AccountType;
+import com.moneytracker.model.Category;
+import com.moneytracker.model.ListTransactionRequest;
+import com.moneytracker.model.Transaction;
+import com.moneytracker.model.TransactionType;
+import com.moneytracker.model.TransactionTypeTotal;
+import io.r2dbc.spi.Readable;
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import org.springframework.r2dbc.core.DatabaseClient;
+import org.springframework.r2dbc.core.DatabaseClient.GenericExecuteSpec;
+import org.springframework.stereotype.Repository;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+/**
+ * Non-blocking counterpart of the read methods of {@link TransactionRepository}, on R2DBC.
+ * Rows are mapped as they arrive and the driver only fetches as many as downstream requests,
+ * so a slow consumer slows the query instead of buffering the result. Writes stay on JPA.
+ */
+@Repository
+public class ReactiveTransactionRepository {
+
+  private static final String SELECT = "select id, description, amount, transaction_type,"
+      + " category, account_type, date, created_at, updated_at, version from transactions";
+
+  private static final String NEWEST_FIRST = " order by date desc, id desc";
+
+  private final DatabaseClient databaseClient;
+
+  public ReactiveTransactionRepository(DatabaseClient databaseClient) {
+    this.databaseClient = databaseClient;
+  }
+
+  public Mono<Transaction> findById(long id) {
+    return databaseClient.sql(SELECT + " where id = :id")
+        .bind("id", id)
+        .map(ReactiveTransactionRepository::toTransaction)
+        .one();
+  }
+
+  public Flux<Transaction> findByType(TransactionType type) {
+    return databaseClient.sql(SELECT + " where transaction_type = :type" + NEWEST_FIRST)
+        .bind("type", type.name())
+        .map(ReactiveTransactionRepository::toTransaction)
+        .all();
+  }
+
+  public Flux<Transaction> findByCategory(Category category) {
+    return databaseClient.sql(SELECT + " where category = :category" + NEWEST_FIRST)
+        .bind("category", category.name())
+        .map(ReactiveTransactionRepository::toTransaction)
+        .all();
+  }
+
+  /**
+   * Transactions matching the filters of {@code request}, newest first; the page size and
+   * cursor are ignored because the caller pulls rows for as long as it wants them.
+   */
+  public Flux<Transaction> findMatching(ListTransactionRequest request) {
+    Where where = new Where()
+        .and("transaction_type = :type", "type", name(request.getType()))
+        .and("category = :category", "category", name(request.getCategory()))
+        .and("account_type = :accountType", "accountType", name(request.getAccountType()))
+        .and("date >= :fromDate", "fromDate", request.getFromDate())
+        .and("date <= :toDate", "toDate", request.getToDate())
+        .and("amount >= :minAmount", "minAmount", request.getMinAmount())
+        .and("amount <= :maxAmount", "maxAmount", request.getMaxAmount());
+    return where.bindTo(databaseClient.sql(SELECT + where + NEWEST_FIRST))
+        .map(ReactiveTransactionRepository::toTransaction)
+        .all();
+  }
+
+  /**
+   * Same grouping as {@link TransactionRepository#sumByType}: one row per transaction type
+   * with the amount total and row count; any filter may be null.
+   */
+  public Flux<TransactionTypeTotal> sumByType(LocalDate from, LocalDate to, Category category,
+      AccountType accountType) {
+    Where where = new Where()
+        .and("date >= :fromDate", "fromDate", from)
+        .and("date <= :toDate", "toDate", to)
+        .and("category = :category", "category", name(category))
+        .and("account_type = :accountType", "accountType", name(accountType));
+    String sql = "select transaction_type, sum(amount) as total, count(*) as row_count"
+        + " from transactions" + where + " group by transaction_type";
+    return where.bindTo(databaseClient.sql(sql))
+        .map(row -> (TransactionTypeTotal) new TypeTotal(
+            TransactionType.valueOf(row.get("transaction_type", String.class)),
+            row.get("total", BigDecimal.class),
+            row.get("row_count", Long.class)))
+        .all();
+  }
+
+  private record TypeTotal(TransactionType type, BigDecimal total, long count)
+      implements TransactionTypeTotal {
+
+    @Override
+    public TransactionType getType() {
+      return type;
+    }
+
+    @Override
+    public BigDecimal getTotal() {
+      return total;
+    }
+
+    @Override
+    public long getCount() {
+      return count;
+    }
+  }
+
+  private static Transaction toTransaction(Readable row) {
+    Transaction transaction = new Transaction(
+        row.get("id", Long.class),
+        row.get("description", String.class),
+        row.get("amount", BigDecimal.class),
+        TransactionType.valueOf(row.get("transaction_type", String.class)),
+        Category.valueOf(row.get("category", String.class)),
+        AccountType.valueOf(row.get("account_type", String.class)),
+        row.get("date", LocalDate.class),
+        row.get("created_at", LocalDateTime.class),
+        row.get("updated_at", LocalDateTime.class));
+    transaction.setVersion(row.get("version", Long.class));
+    return transaction;
+  }
+
+  private static String name(Enum<?> value) {
+    return value == null ? null : value.name();
+  }
+
+  /**
+   * Where clause built from optional conditions; a condition whose value is null is left out,
+   * so no nulls have to be bound.
+   */
+  private static final class Where {
+
+    private final StringBuilder clause = new StringBuilder();
+    private final Map<String, Object> bindings = new LinkedHashMap<>();
+
+    Where and(String condition, String parameter, Object value) {
+      if (value != null) {
+        clause.append(bindings.isEmpty() ? " where " : " and ").append(condition);
+        bindings.put(parameter, value);
+      }
+      return this;
+    }
+
+    GenericExecuteSpec bindTo(GenericExecuteSpec spec) {
+      for (Map.Entry<String, Object> binding : bindings.entrySet()) {
+        spec = spec.bind(binding.getKey(), binding.getValue());
+      }
+      return spec;
+    }
+
+    @Override
+    public String toString() {
+      return clause.toString();
+    }
+  }
+}
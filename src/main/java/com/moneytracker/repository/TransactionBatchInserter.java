@@ -0,0 +1,126 @@
+package com.moneytracker.repository;
+
+import com.moneytracker.model.Transaction;
+import com.moneytracker.model.TransactionChange;
+import java.sql.Date;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import org.springframework.jdbc.core.BatchPreparedStatementSetter;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.support.GeneratedKeyHolder;
+import org.springframework.jdbc.support.KeyHolder;
+import org.springframework.stereotype.Repository;
+
+/**
+ * Plain JDBC batch insert for transactions. Hibernate cannot batch inserts for IDENTITY ids,
+ * so bulk imports go through here; generated ids are read back and set on the given objects.
+ * The change log entries written alongside every commit go through here as well. Runs in the
+ * caller's transaction.
+ */
+@Repository
+public class TransactionBatchInserter {
+
+  private static final String INSERT_SQL = "insert into transactions"
+      + " (description, amount, transaction_type, category, account_type, date, created_at,"
+      + " updated_at, version) values (?, ?, ?, ?, ?, ?, ?, ?, 0)";
+
+  private static final String INSERT_CHANGE_SQL = "insert into transaction_changes"
+      + " (transaction_id, change_type, changed_at, recorded_at) values (?, ?, ?, ?)";
+
+  private final JdbcTemplate jdbcTemplate;
+
+  public TransactionBatchInserter(JdbcTemplate jdbcTemplate) {
+    this.jdbcTemplate = jdbcTemplate;
+  }
+
+  /**
+   * Inserts all rows as one JDBC batch. With {@code rewriteBatchedStatements} on MySQL this is
+   * sent as multi-row INSERT statements.
+   */
+  public void insert(List<Transaction> transactions) {
+    if (transactions.isEmpty()) {
+      return;
+    }
+    LocalDateTime now = LocalDateTime.now();
+    Timestamp timestamp = Timestamp.valueOf(now);
+    KeyHolder keyHolder = new GeneratedKeyHolder();
+
+    jdbcTemplate.batchUpdate(
+        connection -> connection.prepareStatement(INSERT_SQL, Statement.RETURN_GENERATED_KEYS),
+        new BatchPreparedStatementSetter() {
+          @Override
+          public void setValues(PreparedStatement ps, int i) throws SQLException {
+            Transaction t = transactions.get(i);
+            ps.setString(1, t.getDescription());
+            ps.setBigDecimal(2, t.getAmount());
+            ps.setString(3, t.getType().name());
+            ps.setString(4, t.getCategory().name());
+            ps.setString(5, t.getAccountType().name());
+            ps.setDate(6, Date.valueOf(t.getDate()));
+            ps.setTimestamp(7, timestamp);
+            ps.setTimestamp(8, timestamp);
+          }
+
+          @Override
+          public int getBatchSize() {
+            return transactions.size();
+          }
+        },
+        keyHolder);
+
+    List<Map<String, Object>> keys = keyHolder.getKeyList();
+    for (int i = 0; i < transactions.size(); i++) {
+      Transaction t = transactions.get(i);
+      t.setId(((Number) keys.get(i).values().iterator().next()).longValue());
+      t.setCreatedAt(now);
+      t.setUpdatedAt(now);
+      t.setVersion(0L);
+    }
+  }
+
+  /**
+   * Inserts the change log entries as one JDBC batch; the generated sequence numbers and the
+   * insert time are set on the given entries.
+   */
+  public void insertChanges(List<TransactionChange> changes) {
+    if (changes.isEmpty()) {
+      return;
+    }
+    LocalDateTime now = LocalDateTime.now();
+    Timestamp timestamp = Timestamp.valueOf(now);
+    KeyHolder keyHolder = new GeneratedKeyHolder();
+
+    jdbcTemplate.batchUpdate(
+        connection -> connection.prepareStatement(INSERT_CHANGE_SQL,
+            Statement.RETURN_GENERATED_KEYS),
+        new BatchPreparedStatementSetter() {
+          @Override
+          public void setValues(PreparedStatement ps, int i) throws SQLException {
+            TransactionChange change = changes.get(i);
+            ps.setLong(1, change.getTransactionId());
+            ps.setString(2, change.getType().name());
+            ps.setTimestamp(3, change.getChangedAt() == null ? null
+                : Timestamp.valueOf(change.getChangedAt()));
+            ps.setTimestamp(4, timestamp);
+          }
+
+          @Override
+          public int getBatchSize() {
+            return changes.size();
+          }
+        },
+        keyHolder);
+
+    List<Map<String, Object>> keys = keyHolder.getKeyList();
+    for (int i = 0; i < changes.size(); i++) {
+      TransactionChange change = changes.get(i);
+      change.setSequence(((Number) keys.get(i).values().iterator().next()).longValue());
+      change.setRecordedAt(now);
+    }
+  }
+}
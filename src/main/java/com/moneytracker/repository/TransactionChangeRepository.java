@@ -0,0 +1,29 @@
+package com.moneytracker.repository;
+
+import com.moneytracker.model.TransactionChange;
+import java.util.List;
+import java.util.Optional;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+@Repository
+public interface TransactionChangeRepository extends JpaRepository<TransactionChange, Long> {
+
+    List<TransactionChange> findBySequenceGreaterThanOrderBySequence(long sequence, Limit limit);
+
+    @Query("select max(c.sequence) from TransactionChange c")
+    Optional<Long> findLastSequence();
+
+    /**
+     * Starts the change log for a table that already has rows: every existing transaction is
+     * recorded as created, in id order.
+     */
+    @Modifying
+    @Query(value = "insert into transaction_changes (transaction_id, change_type, changed_at)"
+        + " select id, 'CREATED', updated_at from transactions order by id", nativeQuery = true)
+    int recordExistingTransactions();
+}
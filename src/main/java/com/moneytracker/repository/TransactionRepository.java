@@ -1,17 +1,131 @@
 package com.moneytracker.repository;
 
+import com.moneytracker.model.AccountType;
 import com.moneytracker.model.Category;
 import com.moneytracker.model.Transaction;
+import com.moneytracker.model.TransactionColumns;
+import com.moneytracker.model.TransactionDailyTotal;
+import com.moneytracker.model.TransactionGroupTotal;
+import com.moneytracker.model.TransactionMonthlyTotal;
+import com.moneytracker.model.TransactionSearchColumns;
 import com.moneytracker.model.TransactionType;
+import com.moneytracker.model.TransactionTypeTotal;
+import jakarta.persistence.LockModeType;
+import jakarta.persistence.QueryHint;
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
 import java.util.List;
+import java.util.stream.Stream;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 @Repository
-public interface TransactionRepository extends JpaRepository<Transaction, Long> {
+public interface TransactionRepository extends JpaRepository<Transaction, Long>,
+    JpaSpecificationExecutor<Transaction> {
+
+    int STREAM_FETCH_SIZE = 500;
     
     List<Transaction> findByType(TransactionType type);
     
     List<Transaction> findByCategory(Category category);
-}
 
+    Slice<Transaction> findByType(TransactionType type, Pageable pageable);
+
+    Slice<Transaction> findByCategory(Category category, Pageable pageable);
+
+    @Query("select t.type as type, sum(t.amount) as total, count(t) as count from Transaction t"
+        + " where (:from is null or t.date >= :from) and (:to is null or t.date <= :to)"
+        + " and (:category is null or t.category = :category)"
+        + " and (:accountType is null or t.accountType = :accountType)"
+        + " group by t.type")
+    List<TransactionTypeTotal> sumByType(@Param("from") LocalDate from, @Param("to") LocalDate to,
+        @Param("category") Category category, @Param("accountType") AccountType accountType);
+
+    @Query("select t.type as type, t.category as category, t.accountType as accountType,"
+        + " sum(t.amount) as total, count(t) as count from Transaction t"
+        + " group by t.type, t.category, t.accountType")
+    List<TransactionGroupTotal> sumByTypeCategoryAndAccountType();
+
+    @Query("select t.date as date, t.type as type, sum(t.amount) as total, count(t) as count"
+        + " from Transaction t group by t.date, t.type")
+    List<TransactionDailyTotal> sumByDateAndType();
+
+    @Query("select year(t.date) as year, month(t.date) as month, t.category as category,"
+        + " t.accountType as accountType, t.type as type, sum(t.amount) as total,"
+        + " count(t) as count from Transaction t"
+        + " where (:from is null or t.date >= :from) and (:to is null or t.date <= :to)"
+        + " group by year(t.date), month(t.date), t.category, t.accountType, t.type")
+    List<TransactionMonthlyTotal> sumByMonthCategoryAndAccountType(@Param("from") LocalDate from,
+        @Param("to") LocalDate to);
+
+    /**
+     * Sets the editable columns and bumps the version in one statement, but only if the row is
+     * still at {@code version}. Returns the number of rows changed, 0 or 1.
+     */
+    @Modifying(clearAutomatically = true)
+    @Query("update Transaction t set t.description = :description, t.amount = :amount,"
+        + " t.type = :type, t.category = :category, t.updatedAt = :updatedAt,"
+        + " t.version = t.version + 1 where t.id = :id and t.version = :version")
+    int updateIfVersion(@Param("id") long id, @Param("version") long version,
+        @Param("description") String description, @Param("amount") BigDecimal amount,
+        @Param("type") TransactionType type, @Param("category") Category category,
+        @Param("updatedAt") LocalDateTime updatedAt);
+
+    /**
+     * Deletes the row only if it is still at {@code version}; returns the number of rows deleted.
+     */
+    @Modifying(clearAutomatically = true)
+    @Query("delete from Transaction t where t.id = :id and t.version = :version")
+    int deleteIfVersion(@Param("id") long id, @Param("version") long version);
+
+    /**
+     * Forward-only cursor over the whole table, oldest first. Entities are loaded read-only so
+     * Hibernate keeps no snapshots; callers must consume it inside a transaction and close it.
+     */
+    @QueryHints({
+        @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "" + STREAM_FETCH_SIZE),
+        @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true"),
+        @QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "false")})
+    @Query("select t from Transaction t order by t.date, t.id")
+    Stream<Transaction> streamAll();
+
+    /**
+     * Forward-only cursor over the filterable columns of every row, without loading entities.
+     * Callers must consume it inside a transaction and close it.
+     */
+    @QueryHints({
+        @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "" + STREAM_FETCH_SIZE),
+        @QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "false")})
+    @Query("select t.id as id, t.date as date, t.amount as amount, t.type as type,"
+        + " t.category as category, t.accountType as accountType from Transaction t order by t.id")
+    Stream<TransactionColumns> streamColumns();
+
+    /**
+     * Like {@link #streamColumns()}, with the description as well.
+     */
+    @QueryHints({
+        @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "" + STREAM_FETCH_SIZE),
+        @QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "false")})
+    @Query("select t.id as id, t.description as description, t.date as date, t.amount as amount,"
+        + " t.type as type, t.category as category, t.accountType as accountType"
+        + " from Transaction t order by t.id")
+    Stream<TransactionSearchColumns> streamSearchColumns();
+
+    /**
+     * The lowest ids among the rows dated before {@code cutoff}, locked for update until the
+     * archiving transaction ends.
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    List<Transaction> findByDateBeforeOrderById(LocalDate cutoff, Limit limit);
+}
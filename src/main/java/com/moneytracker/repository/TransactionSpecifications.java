@@ -0,0 +1,72 @@
+package com.moneytracker.repository;
+
+import com.moneytracker.model.AccountType;
+import com.moneytracker.model.Category;
+import com.moneytracker.model.ListTransactionRequest;
+import com.moneytracker.model.Transaction;
+import com.moneytracker.model.TransactionType;
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import org.springframework.data.jpa.domain.Specification;
+
+/**
+ * Building blocks for filtered transaction queries. Every factory returns null for a null
+ * argument so the filters can be chained with {@link Specification#and} unconditionally.
+ */
+public final class TransactionSpecifications {
+
+  private TransactionSpecifications() {
+  }
+
+  public static Specification<Transaction> matching(ListTransactionRequest request) {
+    return Specification.where(hasType(request.getType()))
+        .and(hasCategory(request.getCategory()))
+        .and(hasAccountType(request.getAccountType()))
+        .and(dateFrom(request.getFromDate()))
+        .and(dateTo(request.getToDate()))
+        .and(amountAtLeast(request.getMinAmount()))
+        .and(amountAtMost(request.getMaxAmount()));
+  }
+
+  public static Specification<Transaction> hasType(TransactionType type) {
+    return type == null ? null : (root, query, cb) -> cb.equal(root.get("type"), type);
+  }
+
+  public static Specification<Transaction> hasCategory(Category category) {
+    return category == null ? null : (root, query, cb) -> cb.equal(root.get("category"), category);
+  }
+
+  public static Specification<Transaction> hasAccountType(AccountType accountType) {
+    return accountType == null ? null
+        : (root, query, cb) -> cb.equal(root.get("accountType"), accountType);
+  }
+
+  public static Specification<Transaction> dateFrom(LocalDate from) {
+    return from == null ? null
+        : (root, query, cb) -> cb.greaterThanOrEqualTo(root.get("date"), from);
+  }
+
+  public static Specification<Transaction> dateTo(LocalDate to) {
+    return to == null ? null : (root, query, cb) -> cb.lessThanOrEqualTo(root.get("date"), to);
+  }
+
+  public static Specification<Transaction> amountAtLeast(BigDecimal min) {
+    return min == null ? null
+        : (root, query, cb) -> cb.greaterThanOrEqualTo(root.get("amount"), min);
+  }
+
+  public static Specification<Transaction> amountAtMost(BigDecimal max) {
+    return max == null ? null
+        : (root, query, cb) -> cb.lessThanOrEqualTo(root.get("amount"), max);
+  }
+
+  /**
+   * Seek predicate for a (date DESC, id DESC) ordering: only rows strictly after the given
+   * position, so the database can start from the index instead of counting past an offset.
+   */
+  public static Specification<Transaction> before(LocalDate date, long id) {
+    return (root, query, cb) -> cb.or(
+        cb.lessThan(root.get("date"), date),
+        cb.and(cb.equal(root.get("date"), date), cb.lessThan(root.get("id"), id)));
+  }
+}
@@ -0,0 +1,12 @@
+package com.moneytracker.service;
+
+/**
+ * A write to a transaction that has been moved to the {@link TransactionArchive}, where
+ * transactions are read-only.
+ */
+public class ArchivedTransactionException extends RuntimeException {
+
+  public ArchivedTransactionException(long id) {
+    super("Transaction " + id + " is archived and can no longer be changed");
+  }
+}
@@ -0,0 +1,127 @@
+package com.moneytracker.service;
+
+import com.moneytracker.model.BulkMode;
+import com.moneytracker.model.BulkTransactionRequest;
+import com.moneytracker.model.BulkTransactionResponse;
+import com.moneytracker.model.BulkTransactionResult;
+import com.moneytracker.model.Transaction;
+import com.moneytracker.repository.TransactionBatchInserter;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DataAccessException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * Creates many transactions in one request. Rows are validated with the same rules as
+ * {@link TransactionService#createTransaction} and inserted in JDBC batches of
+ * {@code money-tracker.ingest.batch-size} rows.
+ */
+@Service
+public class BulkTransactionService {
+
+  private final TransactionBatchInserter batchInserter;
+  private final TransactionValidator transactionValidator;
+  private final ApplicationEventPublisher eventPublisher;
+  private final TransactionTemplate transactionTemplate;
+  private final int batchSize;
+  private final int maxRows;
+
+  public BulkTransactionService(TransactionBatchInserter batchInserter,
+      TransactionValidator transactionValidator, ApplicationEventPublisher eventPublisher,
+      TransactionTemplate transactionTemplate,
+      @Value("${money-tracker.ingest.batch-size:500}") int batchSize,
+      @Value("${money-tracker.ingest.max-rows:50000}") int maxRows) {
+    this.batchInserter = batchInserter;
+    this.transactionValidator = transactionValidator;
+    this.eventPublisher = eventPublisher;
+    this.transactionTemplate = transactionTemplate;
+    this.batchSize = batchSize;
+    this.maxRows = maxRows;
+  }
+
+  public BulkTransactionResponse createTransactions(BulkTransactionRequest request) {
+    List<Transaction> rows = request.getTransactions();
+    if (rows == null || rows.isEmpty()) {
+      throw new IllegalArgumentException("No transactions to create");
+    }
+    if (rows.size() > maxRows) {
+      throw new IllegalArgumentException("At most " + maxRows + " transactions per request");
+    }
+
+    BulkTransactionResult[] results = new BulkTransactionResult[rows.size()];
+    List<Integer> valid = new ArrayList<>(rows.size());
+    for (int i = 0; i < rows.size(); i++) {
+      Transaction row = rows.get(i);
+      try {
+        if (row == null) {
+          throw new IllegalArgumentException("Transaction is required");
+        }
+        transactionValidator.validate(row);
+        valid.add(i);
+      } catch (RuntimeException e) {
+        results[i] = BulkTransactionResult.failed(i, e.getMessage());
+      }
+    }
+
+    if (request.getMode() == BulkMode.PARTIAL) {
+      insertPartial(rows, valid, results);
+    } else if (valid.size() == rows.size()) {
+      insertAllOrNothing(rows, results);
+    } else {
+      for (int i : valid) {
+        results[i] = BulkTransactionResult.failed(i, "Not inserted: other rows are invalid");
+      }
+    }
+    return new BulkTransactionResponse(Arrays.asList(results));
+  }
+
+  private void insertAllOrNothing(List<Transaction> rows, BulkTransactionResult[] results) {
+    try {
+      transactionTemplate.executeWithoutResult(status -> {
+        for (int from = 0; from < rows.size(); from += batchSize) {
+          insertBatch(rows.subList(from, Math.min(from + batchSize, rows.size())));
+        }
+      });
+    } catch (DataAccessException e) {
+      for (int i = 0; i < rows.size(); i++) {
+        results[i] = BulkTransactionResult.failed(i, "Not inserted: batch failed");
+      }
+      return;
+    }
+    for (int i = 0; i < rows.size(); i++) {
+      results[i] = BulkTransactionResult.created(i, rows.get(i).getId());
+    }
+  }
+
+  /**
+   * Each batch commits on its own, so a database error only fails the rows of that batch.
+   */
+  private void insertPartial(List<Transaction> rows, List<Integer> valid,
+      BulkTransactionResult[] results) {
+    for (int from = 0; from < valid.size(); from += batchSize) {
+      List<Integer> indexes = valid.subList(from, Math.min(from + batchSize, valid.size()));
+      List<Transaction> batch = indexes.stream().map(rows::get).toList();
+      try {
+        transactionTemplate.executeWithoutResult(status -> insertBatch(batch));
+        for (int i : indexes) {
+          results[i] = BulkTransactionResult.created(i, rows.get(i).getId());
+        }
+      } catch (DataAccessException e) {
+        for (int i : indexes) {
+          results[i] = BulkTransactionResult.failed(i, "Not inserted: batch failed");
+        }
+      }
+    }
+  }
+
+  private void insertBatch(List<Transaction> batch) {
+    batchInserter.insert(batch);
+    for (Transaction transaction : batch) {
+      eventPublisher.publishEvent(TransactionChangedEvent.created(transaction));
+    }
+  }
+}
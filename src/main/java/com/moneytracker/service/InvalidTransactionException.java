@@ -0,0 +1,23 @@
+package com.moneytracker.service;
+
+/**
+ * A transaction rejected by {@link TransactionValidator}. The reason names the rule that failed
+ * and is what the rejection metrics are tagged with; the message is what clients see.
+ */
+public class InvalidTransactionException extends IllegalArgumentException {
+
+  public enum Reason {
+    DESCRIPTION, AMOUNT, TYPE, CATEGORY, ACCOUNT_TYPE, DATE
+  }
+
+  private final Reason reason;
+
+  public InvalidTransactionException(Reason reason, String message) {
+    super(message);
+    this.reason = reason;
+  }
+
+  public Reason getReason() {
+    return reason;
+  }
+}
@@ -0,0 +1,112 @@
+package com.moneytracker.service;
+
+import java.util.Arrays;
+
+/**
+ * Map from a long id to a non-negative int, such as a row's slot or a document number: open
+ * addressing with linear probing over primitive arrays, so no entry is boxed. Removal shifts the
+ * rest of the probe run back instead of leaving tombstones. Each entry costs 12 bytes and the
+ * table is kept between three eighths and three quarters full. Not thread-safe.
+ */
+final class LongIntMap {
+
+  /** Returned for an absent key; also marks an empty bucket. */
+  static final int NONE = -1;
+
+  private long[] keys = new long[16];
+  private int[] values = empty(16);
+  private int size;
+
+  int size() {
+    return size;
+  }
+
+  int get(long key) {
+    int mask = keys.length - 1;
+    for (int i = home(key, mask); values[i] != NONE; i = (i + 1) & mask) {
+      if (keys[i] == key) {
+        return values[i];
+      }
+    }
+    return NONE;
+  }
+
+  /** Maps {@code key} to {@code value}, which must not be negative. */
+  void put(long key, int value) {
+    int mask = keys.length - 1;
+    int i = home(key, mask);
+    while (values[i] != NONE) {
+      if (keys[i] == key) {
+        values[i] = value;
+        return;
+      }
+      i = (i + 1) & mask;
+    }
+    if ((size + 1) * 4L > keys.length * 3L) {
+      resize(keys.length * 2);
+      insert(key, value);
+    } else {
+      keys[i] = key;
+      values[i] = value;
+    }
+    size++;
+  }
+
+  /** Removes {@code key}; returns its value, or {@link #NONE} if it was absent. */
+  int remove(long key) {
+    int mask = keys.length - 1;
+    int i = home(key, mask);
+    while (values[i] != NONE && keys[i] != key) {
+      i = (i + 1) & mask;
+    }
+    int removed = values[i];
+    if (removed == NONE) {
+      return NONE;
+    }
+    int gap = i;
+    for (int j = (i + 1) & mask; values[j] != NONE; j = (j + 1) & mask) {
+      // an entry may fill the gap unless its home lies after the gap
+      if (((j - home(keys[j], mask)) & mask) >= ((j - gap) & mask)) {
+        keys[gap] = keys[j];
+        values[gap] = values[j];
+        gap = j;
+      }
+    }
+    values[gap] = NONE;
+    size--;
+    return removed;
+  }
+
+  private void insert(long key, int value) {
+    int mask = keys.length - 1;
+    int i = home(key, mask);
+    while (values[i] != NONE) {
+      i = (i + 1) & mask;
+    }
+    keys[i] = key;
+    values[i] = value;
+  }
+
+  private void resize(int capacity) {
+    long[] oldKeys = keys;
+    int[] oldValues = values;
+    keys = new long[capacity];
+    values = empty(capacity);
+    for (int i = 0; i < oldKeys.length; i++) {
+      if (oldValues[i] != NONE) {
+        insert(oldKeys[i], oldValues[i]);
+      }
+    }
+  }
+
+  private static int home(long key, int mask) {
+    long hash = key * 0x9E3779B97F4A7C15L;
+    return (int) (hash ^ (hash >>> 32)) & mask;
+  }
+
+  private static int[] empty(int capacity) {
+    int[] values = new int[capacity];
+    Arrays.fill(values, NONE);
+    return values;
+  }
+}
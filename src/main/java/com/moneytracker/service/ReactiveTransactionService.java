@@ -0,0 +1,121 @@
+package com.moneytracker.service;
+
+import com.moneytracker.config.CacheConfig;
+import com.moneytracker.model.AccountType;
+import com.moneytracker.model.Category;
+import com.moneytracker.model.ListTransactionRequest;
+import com.moneytracker.model.Transaction;
+import com.moneytracker.model.TransactionSummary;
+import com.moneytracker.model.TransactionType;
+import com.moneytracker.repository.ReactiveTransactionRepository;
+import java.time.LocalDate;
+import java.util.List;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.stereotype.Service;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+/**
+ * Non-blocking reads with the same results as {@link TransactionService}. Whatever the blocking
+ * path has already cached (single transactions, by-type and by-category results, running
+ * totals) is served from memory; everything else streams from {@link ReactiveTransactionRepository}
+ * merged, newest first, with the matching rows of the {@link TransactionArchive}, which is
+ * scanned in memory. Nothing read here is put into the caches, which stay owned by the JPA path.
+ */
+@Service
+public class ReactiveTransactionService {
+
+  private final ReactiveTransactionRepository reactiveTransactionRepository;
+  private final TransactionTotals transactionTotals;
+  private final TransactionResultKeys transactionResultKeys;
+  private final CacheManager cacheManager;
+  private final ObjectProvider<TransactionColumnIndex> transactionColumnIndex;
+  private final TransactionArchive transactionArchive;
+
+  public ReactiveTransactionService(ReactiveTransactionRepository reactiveTransactionRepository,
+      TransactionTotals transactionTotals, TransactionResultKeys transactionResultKeys,
+      CacheManager cacheManager, ObjectProvider<TransactionColumnIndex> transactionColumnIndex,
+      TransactionArchive transactionArchive) {
+    this.reactiveTransactionRepository = reactiveTransactionRepository;
+    this.transactionTotals = transactionTotals;
+    this.transactionResultKeys = transactionResultKeys;
+    this.cacheManager = cacheManager;
+    this.transactionColumnIndex = transactionColumnIndex;
+    this.transactionArchive = transactionArchive;
+  }
+
+  public Flux<Transaction> listTransactions(ListTransactionRequest request) {
+    return withArchived(reactiveTransactionRepository.findMatching(request),
+        TransactionArchive.Filter.matching(request));
+  }
+
+  public Mono<Transaction> getTransactionById(long id) {
+    Transaction cached = cached(CacheConfig.TRANSACTIONS, id, Transaction.class);
+    return cached != null ? Mono.just(cached) : reactiveTransactionRepository.findById(id)
+        .switchIfEmpty(Mono.fromSupplier(() -> transactionArchive.findById(id).orElse(null)));
+  }
+
+  public Flux<Transaction> getTransactionsByType(TransactionType type) {
+    List<?> cached = cached(CacheConfig.TRANSACTIONS_BY_TYPE, transactionResultKeys.of(type),
+        List.class);
+    return cached != null ? Flux.fromIterable(cached).cast(Transaction.class)
+        : withArchived(reactiveTransactionRepository.findByType(type),
+            TransactionArchive.Filter.of(type));
+  }
+
+  public Flux<Transaction> getTransactionsByCategory(Category category) {
+    List<?> cached = cached(CacheConfig.TRANSACTIONS_BY_CATEGORY,
+        transactionResultKeys.of(category), List.class);
+    return cached != null ? Flux.fromIterable(cached).cast(Transaction.class)
+        : withArchived(reactiveTransactionRepository.findByCategory(category),
+            TransactionArchive.Filter.of(category));
+  }
+
+  /**
+   * Same rules as {@link TransactionService#getTransactionSummary(LocalDate, LocalDate,
+   * Category, AccountType)}: summaries the running totals or the column index can answer never
+   * touch the database.
+   */
+  public Mono<TransactionSummary> getTransactionSummary(LocalDate from, LocalDate to,
+      Category category, AccountType accountType) {
+    if (from == null && to == null) {
+      if (category == null && accountType == null) {
+        return Mono.fromSupplier(transactionTotals::overall);
+      }
+      if (accountType == null) {
+        return Mono.fromSupplier(() -> transactionTotals.forCategory(category));
+      }
+      if (category == null) {
+        return Mono.fromSupplier(() -> transactionTotals.forAccountType(accountType));
+      }
+    }
+
+    TransactionColumnIndex columnIndex = transactionColumnIndex.getIfAvailable();
+    if (columnIndex != null) {
+      return Mono.fromSupplier(() -> columnIndex.summary(from, to, category, accountType));
+    }
+    return reactiveTransactionRepository.sumByType(from, to, category, accountType)
+        .concatWith(Flux.defer(() -> Flux.fromIterable(transactionArchive.sumByType(
+            TransactionArchive.Filter.of(from, to, category, accountType)))))
+        .collectList()
+        .map(TransactionService::summarize);
+  }
+
+  /** {@code live}, newest first, merged with the archived rows that {@code filter} keeps. */
+  private Flux<Transaction> withArchived(Flux<Transaction> live,
+      TransactionArchive.Filter filter) {
+    if (transactionArchive.isEmpty()) {
+      return live;
+    }
+    Flux<Transaction> archived = Flux.defer(() -> Flux.fromIterable(transactionArchive.find(
+        filter, TransactionService.KEYSET_COMPARATOR, Integer.MAX_VALUE)));
+    return Flux.mergeComparing(TransactionService.KEYSET_COMPARATOR, live, archived);
+  }
+
+  private <T> T cached(String cacheName, Object key, Class<T> type) {
+    Cache cache = cacheManager.getCache(cacheName);
+    return cache == null ? null : cache.get(key, type);
+  }
+}
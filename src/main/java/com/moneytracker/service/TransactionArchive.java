@@ -0,0 +1,431 @@
+package com.moneytracker.service;
+
+import com.moneytracker.model.AccountType;
+import com.moneytracker.model.Category;
+import com.moneytracker.model.ListTransactionRequest;
+import com.moneytracker.model.Money;
+import com.moneytracker.model.Transaction;
+import com.moneytracker.model.TransactionType;
+import com.moneytracker.model.TransactionTypeTotal;
+import com.moneytracker.repository.TransactionRepository;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Optional;
+import java.util.PriorityQueue;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+/**
+ * Cold tier of the ledger: transactions moved out of the transactions table by
+ * {@link TransactionArchiver}, kept in append-only {@link TransactionArchiveSegment} files that
+ * are memory-mapped when the application starts. Archived transactions are read-only. Reads in
+ * {@link TransactionService}, the summaries and the rebuilds of the in-memory totals and indexes
+ * merge them with the live table.
+ *
+ * <p>Existing segments are opened whether or not archiving is enabled, so switching the job off
+ * never hides rows it has already moved. A segment is written as {@code .pending} before the
+ * rows are deleted from the table and renamed and mapped once that delete commits, so between
+ * the commit and the publish its rows are in neither tier; a pending file left by a crash is
+ * kept or dropped at startup depending on whether its rows are still in the table.
+ */
+@Component
+public class TransactionArchive {
+
+  private static final Logger log = LoggerFactory.getLogger(TransactionArchive.class);
+
+  private static final String SEGMENT_SUFFIX = ".seg";
+  private static final String PENDING_SUFFIX = ".pending";
+  private static final Pattern FILE_NAME =
+      Pattern.compile("segment-(\\d+)(" + Pattern.quote(SEGMENT_SUFFIX) + "|"
+          + Pattern.quote(PENDING_SUFFIX) + ")");
+
+  /**
+   * Newest first, ties broken by the higher id: the order of the keyset list and of the default
+   * page sort. {@link #find} skips whole segments for this order.
+   */
+  public static final Comparator<Transaction> NEWEST_FIRST =
+      Comparator.comparing(Transaction::getDate).thenComparing(Transaction::getId).reversed();
+
+  private final Path directory;
+  private volatile List<TransactionArchiveSegment> segments = List.of();
+  private long lastSegmentNumber;
+
+  public TransactionArchive(@Value("${money-tracker.archive.dir:archive}") Path directory,
+      TransactionRepository transactionRepository) {
+    this.directory = directory;
+    open(transactionRepository);
+  }
+
+  public boolean isEmpty() {
+    return segments.isEmpty();
+  }
+
+  /** Number of archived transactions. */
+  public long size() {
+    return segments.stream().mapToLong(segment -> segment.rows).sum();
+  }
+
+  public boolean contains(long id) {
+    return segments.stream().anyMatch(segment -> segment.indexOf(id) >= 0);
+  }
+
+  public Optional<Transaction> findById(long id) {
+    for (TransactionArchiveSegment segment : segments) {
+      int row = segment.indexOf(id);
+      if (row >= 0) {
+        return Optional.of(segment.transaction(row, new TransactionArchiveSegment.Descriptions()));
+      }
+    }
+    return Optional.empty();
+  }
+
+  /** The archived transactions among {@code ids}, in ascending id order within each segment. */
+  public List<Transaction> findAllById(Collection<Long> ids) {
+    long[] sorted = ids.stream().mapToLong(Long::longValue).sorted().distinct().toArray();
+    List<Transaction> rows = new ArrayList<>();
+    for (TransactionArchiveSegment segment : segments) {
+      TransactionArchiveSegment.Descriptions descriptions =
+          new TransactionArchiveSegment.Descriptions();
+      for (long id : sorted) {
+        int row = segment.indexOf(id);
+        if (row >= 0) {
+          rows.add(segment.transaction(row, descriptions));
+        }
+      }
+    }
+    return rows;
+  }
+
+  /**
+   * Archived transactions matching {@code filter}: the first {@code limit} in {@code order}, or
+   * in id order within each segment when {@code order} is null. Filters are checked on the
+   * mapped columns, so only matching rows are materialised, and segments outside the filter's
+   * dates are skipped. For {@link #NEWEST_FIRST} segments are visited newest first and the scan
+   * stops at the first one older than every row already kept, so a shallow page reads only the
+   * newest segments; any other order scans every segment the filter does not rule out, at a
+   * cost that grows with the archive.
+   */
+  public List<Transaction> find(Filter filter, Comparator<Transaction> order, int limit) {
+    Scan scan = filter.compile();
+    TransactionArchiveSegment.Descriptions descriptions =
+        new TransactionArchiveSegment.Descriptions();
+    if (order == null) {
+      List<Transaction> rows = new ArrayList<>();
+      for (TransactionArchiveSegment segment : segments) {
+        if (scan.skips(segment)) {
+          continue;
+        }
+        for (int row = 0; row < segment.rows && rows.size() < limit; row++) {
+          if (scan.matches(segment, row)) {
+            rows.add(segment.transaction(row, descriptions));
+          }
+        }
+      }
+      return rows;
+    }
+
+    // the best limit rows so far, worst at the head
+    PriorityQueue<Transaction> top = new PriorityQueue<>(order.reversed());
+    boolean newestFirst = order == NEWEST_FIRST;
+    List<TransactionArchiveSegment> visit = !newestFirst ? segments : segments.stream()
+        .sorted(Comparator.comparingLong((TransactionArchiveSegment segment) -> segment.maxDay)
+            .reversed())
+        .toList();
+    for (TransactionArchiveSegment segment : visit) {
+      if (scan.skips(segment)) {
+        continue;
+      }
+      if (newestFirst && top.size() == limit
+          && segment.maxDay < top.peek().getDate().toEpochDay()) {
+        // every later segment is older still
+        break;
+      }
+      for (int row = 0; row < segment.rows; row++) {
+        if (!scan.matches(segment, row)) {
+          continue;
+        }
+        Transaction transaction = segment.transaction(row, descriptions);
+        if (top.size() < limit) {
+          top.add(transaction);
+        } else if (order.compare(transaction, top.peek()) < 0) {
+          top.poll();
+          top.add(transaction);
+        }
+      }
+    }
+    List<Transaction> rows = new ArrayList<>(top);
+    rows.sort(order);
+    return rows;
+  }
+
+  /** Every archived transaction, segment by segment in id order. */
+  public Stream<Transaction> stream() {
+    return segments.stream().flatMap(segment -> {
+      TransactionArchiveSegment.Descriptions descriptions =
+          new TransactionArchiveSegment.Descriptions();
+      return IntStream.range(0, segment.rows)
+          .mapToObj(row -> segment.transaction(row, descriptions));
+    });
+  }
+
+  /**
+   * Calls {@code visitor} with the columns of every archived row matching {@code filter},
+   * without materialising transactions.
+   */
+  public void scan(Filter filter, RowVisitor visitor) {
+    Scan scan = filter.compile();
+    TransactionType[] types = TransactionType.values();
+    Category[] categories = Category.values();
+    AccountType[] accountTypes = AccountType.values();
+    for (TransactionArchiveSegment segment : segments) {
+      if (scan.skips(segment)) {
+        continue;
+      }
+      for (int row = 0; row < segment.rows; row++) {
+        if (scan.matches(segment, row)) {
+          visitor.visit(segment.id(row), segment.day(row), segment.cents(row),
+              types[segment.type(row)], categories[segment.category(row)],
+              accountTypes[segment.accountType(row)]);
+        }
+      }
+    }
+  }
+
+  /** Total and count per type of the archived rows matching {@code filter}. */
+  public List<TransactionTypeTotal> sumByType(Filter filter) {
+    long[] cents = new long[TransactionType.values().length];
+    long[] counts = new long[cents.length];
+    scan(filter, (id, day, amount, type, category, accountType) -> {
+      cents[type.ordinal()] = Money.add(cents[type.ordinal()], amount);
+      counts[type.ordinal()]++;
+    });
+    List<TransactionTypeTotal> totals = new ArrayList<>();
+    for (TransactionType type : TransactionType.values()) {
+      if (counts[type.ordinal()] > 0) {
+        totals.add(new TypeTotal(type, Money.fromCents(cents[type.ordinal()]),
+            counts[type.ordinal()]));
+      }
+    }
+    return totals;
+  }
+
+  /**
+   * Writes {@code transactions} to a new pending segment; it becomes visible with
+   * {@link #publish(Path)}.
+   */
+  Path write(List<Transaction> transactions) {
+    try {
+      Files.createDirectories(directory);
+      Path pending;
+      synchronized (this) {
+        pending = directory.resolve(fileName(++lastSegmentNumber, PENDING_SUFFIX));
+      }
+      TransactionArchiveSegment.write(pending, transactions);
+      return pending;
+    } catch (IOException e) {
+      throw new UncheckedIOException("Cannot write archive segment", e);
+    }
+  }
+
+  /**
+   * Makes a pending segment part of the archive, once its rows are gone from the table. If it
+   * cannot be renamed it is served from the pending file, which the next startup keeps because
+   * its rows are no longer in the table.
+   */
+  void publish(Path pending) {
+    String name = pending.getFileName().toString();
+    Path segment = pending.resolveSibling(
+        name.substring(0, name.length() - PENDING_SUFFIX.length()) + SEGMENT_SUFFIX);
+    try {
+      Files.move(pending, segment, StandardCopyOption.ATOMIC_MOVE);
+    } catch (IOException e) {
+      log.warn("Cannot rename archive segment {}; serving it as pending until restart", pending, e);
+      segment = pending;
+    }
+    add(TransactionArchiveSegment.open(segment));
+  }
+
+  /** Drops a pending segment whose rows stayed in the table. */
+  void discard(Path pending) {
+    try {
+      Files.deleteIfExists(pending);
+    } catch (IOException e) {
+      log.warn("Cannot delete abandoned archive segment {}", pending, e);
+    }
+  }
+
+  private synchronized void add(TransactionArchiveSegment segment) {
+    List<TransactionArchiveSegment> grown = new ArrayList<>(segments);
+    grown.add(segment);
+    segments = List.copyOf(grown);
+  }
+
+  private void open(TransactionRepository transactionRepository) {
+    if (!Files.isDirectory(directory)) {
+      return;
+    }
+    List<Path> files;
+    try (Stream<Path> listing = Files.list(directory)) {
+      files = listing.filter(path -> FILE_NAME.matcher(path.getFileName().toString()).matches())
+          .sorted()
+          .toList();
+    } catch (IOException e) {
+      throw new UncheckedIOException("Cannot list archive directory " + directory, e);
+    }
+
+    for (Path file : files) {
+      Matcher name = FILE_NAME.matcher(file.getFileName().toString());
+      name.matches();
+      lastSegmentNumber = Math.max(lastSegmentNumber, Long.parseLong(name.group(1)));
+      if (name.group(2).equals(SEGMENT_SUFFIX)) {
+        add(TransactionArchiveSegment.open(file));
+        continue;
+      }
+      // the delete that goes with a pending segment either committed completely or not at all
+      TransactionArchiveSegment pending = TransactionArchiveSegment.open(file);
+      if (pending.rows > 0 && !transactionRepository.existsById(pending.minId)) {
+        log.info("Completing archive segment {}", file);
+        publish(file);
+      } else {
+        log.info("Dropping archive segment {} of an archival that rolled back", file);
+        discard(file);
+      }
+    }
+    if (!segments.isEmpty()) {
+      log.info("Archive opened: {} transactions in {} segments", size(), segments.size());
+    }
+  }
+
+  private static String fileName(long number, String suffix) {
+    return String.format("segment-%06d%s", number, suffix);
+  }
+
+  /** Receives the columns of one archived row. */
+  @FunctionalInterface
+  public interface RowVisitor {
+
+    void visit(long id, long epochDay, long cents, TransactionType type, Category category,
+        AccountType accountType);
+  }
+
+  /**
+   * Row filter for archive reads; null fields match everything. {@code beforeDate} and
+   * {@code beforeId} are a keyset position in (date DESC, id DESC) order, as in
+   * {@link com.moneytracker.repository.TransactionSpecifications#before}.
+   */
+  public record Filter(TransactionType type, Category category, AccountType accountType,
+      LocalDate from, LocalDate to, BigDecimal minAmount, BigDecimal maxAmount,
+      LocalDate beforeDate, Long beforeId) {
+
+    public static final Filter ALL = new Filter(null, null, null, null, null, null, null, null,
+        null);
+
+    public static Filter of(TransactionType type) {
+      return new Filter(type, null, null, null, null, null, null, null, null);
+    }
+
+    public static Filter of(Category category) {
+      return new Filter(null, category, null, null, null, null, null, null, null);
+    }
+
+    public static Filter of(LocalDate from, LocalDate to, Category category,
+        AccountType accountType) {
+      return new Filter(null, category, accountType, from, to, null, null, null, null);
+    }
+
+    public static Filter matching(ListTransactionRequest request) {
+      return new Filter(request.getType(), request.getCategory(), request.getAccountType(),
+          request.getFromDate(), request.getToDate(), request.getMinAmount(),
+          request.getMaxAmount(), null, null);
+    }
+
+    public Filter before(LocalDate date, long id) {
+      return new Filter(type, category, accountType, from, to, minAmount, maxAmount, date, id);
+    }
+
+    private Scan compile() {
+      return new Scan(
+          type == null ? -1 : type.ordinal(),
+          category == null ? -1 : category.ordinal(),
+          accountType == null ? -1 : accountType.ordinal(),
+          from == null ? Long.MIN_VALUE : from.toEpochDay(),
+          to == null ? Long.MAX_VALUE : to.toEpochDay(),
+          minAmount == null ? Long.MIN_VALUE
+              : minAmount.movePointRight(2).setScale(0, RoundingMode.CEILING).longValueExact(),
+          maxAmount == null ? Long.MAX_VALUE
+              : maxAmount.movePointRight(2).setScale(0, RoundingMode.FLOOR).longValueExact(),
+          beforeDate == null ? Long.MAX_VALUE : beforeDate.toEpochDay(),
+          beforeId == null ? Long.MAX_VALUE : beforeId);
+    }
+  }
+
+  private record Scan(int type, int category, int accountType, long fromDay, long toDay,
+      long minCents, long maxCents, long beforeDay, long beforeId) {
+
+    boolean skips(TransactionArchiveSegment segment) {
+      return segment.rows == 0 || segment.maxDay < fromDay || segment.minDay > toDay
+          || segment.minDay > beforeDay;
+    }
+
+    boolean matches(TransactionArchiveSegment segment, int row) {
+      long day = segment.day(row);
+      if (day < fromDay || day > toDay || day > beforeDay) {
+        return false;
+      }
+      if ((type >= 0 && segment.type(row) != type)
+          || (category >= 0 && segment.category(row) != category)
+          || (accountType >= 0 && segment.accountType(row) != accountType)) {
+        return false;
+      }
+      long cents = segment.cents(row);
+      if (cents < minCents || cents > maxCents) {
+        return false;
+      }
+      return day < beforeDay || segment.id(row) < beforeId;
+    }
+  }
+
+  private static final class TypeTotal implements TransactionTypeTotal {
+
+    private final TransactionType type;
+    private final BigDecimal total;
+    private final long count;
+
+    TypeTotal(TransactionType type, BigDecimal total, long count) {
+      this.type = type;
+      this.total = total;
+      this.count = count;
+    }
+
+    @Override
+    public TransactionType getType() {
+      return type;
+    }
+
+    @Override
+    public BigDecimal getTotal() {
+      return total;
+    }
+
+    @Override
+    public long getCount() {
+      return count;
+    }
+  }
+}
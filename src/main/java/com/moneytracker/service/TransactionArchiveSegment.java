@@ -0,0 +1,320 @@
+package com.moneytracker.service;
+
+import com.moneytracker.model.AccountType;
+import com.moneytracker.model.Category;
+import com.moneytracker.model.Money;
+import com.moneytracker.model.Transaction;
+import com.moneytracker.model.TransactionType;
+import java.io.BufferedOutputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.Comparator;
+import java.util.List;
+import java.util.zip.DataFormatException;
+import java.util.zip.Deflater;
+import java.util.zip.DeflaterOutputStream;
+import java.util.zip.Inflater;
+
+/**
+ * One immutable segment file of the {@link TransactionArchive}, read through a memory-mapped
+ * buffer. Rows are sorted by id and stored column by column: the numeric columns have a fixed
+ * width so scans and id lookups read them in place, and descriptions are deflated in blocks of
+ * {@link #BLOCK_ROWS} rows, inflated only when a row is materialised.
+ *
+ * <pre>
+ * header   magic, version, row count, block count, min/max id, min/max epoch day
+ * columns  id, epoch day, amount in cents, version, created at, updated at (8 bytes each,
+ *          timestamps in epoch microseconds), type, category, account type (1 byte each)
+ * blocks   block offsets, then per block the deflated length-prefixed UTF-8 descriptions
+ * </pre>
+ */
+final class TransactionArchiveSegment {
+
+  static final int BLOCK_ROWS = 1024;
+
+  private static final int MAGIC = 0x4d544153; // "MTAS"
+  private static final int FORMAT_VERSION = 1;
+  private static final int HEADER_BYTES = 4 * 4 + 4 * 8;
+  private static final long NO_TIMESTAMP = Long.MIN_VALUE;
+
+  private static final TransactionType[] TYPES = TransactionType.values();
+  private static final Category[] CATEGORIES = Category.values();
+  private static final AccountType[] ACCOUNT_TYPES = AccountType.values();
+
+  private final Path path;
+  private final MappedByteBuffer buffer;
+  final int rows;
+  final long minId;
+  final long maxId;
+  final long minDay;
+  final long maxDay;
+  private final int blocks;
+  private final int ids;
+  private final int days;
+  private final int cents;
+  private final int versions;
+  private final int createdAt;
+  private final int updatedAt;
+  private final int types;
+  private final int categories;
+  private final int accountTypes;
+  private final int blockOffsets;
+  private final int blockData;
+
+  private TransactionArchiveSegment(Path path, MappedByteBuffer buffer) {
+    this.path = path;
+    this.buffer = buffer;
+    if (buffer.getInt(0) != MAGIC || buffer.getInt(4) != FORMAT_VERSION) {
+      throw new IllegalStateException(path + " is not an archive segment");
+    }
+    rows = buffer.getInt(8);
+    blocks = buffer.getInt(12);
+    minId = buffer.getLong(16);
+    maxId = buffer.getLong(24);
+    minDay = buffer.getLong(32);
+    maxDay = buffer.getLong(40);
+    ids = HEADER_BYTES;
+    days = ids + rows * 8;
+    cents = days + rows * 8;
+    versions = cents + rows * 8;
+    createdAt = versions + rows * 8;
+    updatedAt = createdAt + rows * 8;
+    types = updatedAt + rows * 8;
+    categories = types + rows;
+    accountTypes = categories + rows;
+    blockOffsets = accountTypes + rows;
+    blockData = blockOffsets + (blocks + 1) * 8;
+  }
+
+  static TransactionArchiveSegment open(Path path) {
+    try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+      // the mapping stays valid after the channel is closed
+      return new TransactionArchiveSegment(path,
+          channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size()));
+    } catch (IOException e) {
+      throw new UncheckedIOException("Cannot open archive segment " + path, e);
+    }
+  }
+
+  /**
+   * Writes {@code transactions} as a new segment file and forces it to disk.
+   */
+  static void write(Path path, List<Transaction> transactions) throws IOException {
+    List<Transaction> sorted = transactions.stream()
+        .sorted(Comparator.comparing(Transaction::getId))
+        .toList();
+    int rows = sorted.size();
+    int blocks = (rows + BLOCK_ROWS - 1) / BLOCK_ROWS;
+    byte[][] compressed = new byte[blocks][];
+    for (int b = 0; b < blocks; b++) {
+      int end = Math.min(rows, (b + 1) * BLOCK_ROWS);
+      compressed[b] = deflate(sorted.subList(b * BLOCK_ROWS, end));
+    }
+
+    try (FileChannel channel = FileChannel.open(path, StandardOpenOption.CREATE_NEW,
+        StandardOpenOption.WRITE)) {
+      DataOutputStream out = new DataOutputStream(
+          new BufferedOutputStream(Channels.newOutputStream(channel), 1 << 16));
+      out.writeInt(MAGIC);
+      out.writeInt(FORMAT_VERSION);
+      out.writeInt(rows);
+      out.writeInt(blocks);
+      out.writeLong(rows == 0 ? 0 : sorted.get(0).getId());
+      out.writeLong(rows == 0 ? 0 : sorted.get(rows - 1).getId());
+      out.writeLong(sorted.stream().mapToLong(t -> t.getDate().toEpochDay()).min().orElse(0));
+      out.writeLong(sorted.stream().mapToLong(t -> t.getDate().toEpochDay()).max().orElse(0));
+      for (Transaction t : sorted) {
+        out.writeLong(t.getId());
+      }
+      for (Transaction t : sorted) {
+        out.writeLong(t.getDate().toEpochDay());
+      }
+      for (Transaction t : sorted) {
+        out.writeLong(Money.toCents(t.getAmount()));
+      }
+      for (Transaction t : sorted) {
+        out.writeLong(t.getVersion() == null ? 0 : t.getVersion());
+      }
+      for (Transaction t : sorted) {
+        out.writeLong(toMicros(t.getCreatedAt()));
+      }
+      for (Transaction t : sorted) {
+        out.writeLong(toMicros(t.getUpdatedAt()));
+      }
+      for (Transaction t : sorted) {
+        out.writeByte(t.getType().ordinal());
+      }
+      for (Transaction t : sorted) {
+        out.writeByte(t.getCategory().ordinal());
+      }
+      for (Transaction t : sorted) {
+        out.writeByte(t.getAccountType().ordinal());
+      }
+      long offset = 0;
+      out.writeLong(offset);
+      for (byte[] block : compressed) {
+        offset += block.length;
+        out.writeLong(offset);
+      }
+      for (byte[] block : compressed) {
+        out.write(block);
+      }
+      out.flush();
+      channel.force(true);
+    }
+  }
+
+  Path path() {
+    return path;
+  }
+
+  /** Row number of {@code id}, or a negative number if this segment does not hold it. */
+  int indexOf(long id) {
+    if (id < minId || id > maxId) {
+      return -1;
+    }
+    int low = 0;
+    int high = rows - 1;
+    while (low <= high) {
+      int mid = (low + high) >>> 1;
+      long value = id(mid);
+      if (value < id) {
+        low = mid + 1;
+      } else if (value > id) {
+        high = mid - 1;
+      } else {
+        return mid;
+      }
+    }
+    return -1;
+  }
+
+  long id(int row) {
+    return buffer.getLong(ids + row * 8);
+  }
+
+  long day(int row) {
+    return buffer.getLong(days + row * 8);
+  }
+
+  long cents(int row) {
+    return buffer.getLong(cents + row * 8);
+  }
+
+  byte type(int row) {
+    return buffer.get(types + row);
+  }
+
+  byte category(int row) {
+    return buffer.get(categories + row);
+  }
+
+  byte accountType(int row) {
+    return buffer.get(accountTypes + row);
+  }
+
+  /**
+   * Materialises one row. {@code descriptions} keeps the last inflated block, so reading rows
+   * in order inflates every block once.
+   */
+  Transaction transaction(int row, Descriptions descriptions) {
+    Transaction transaction = new Transaction(id(row), descriptions.get(this, row),
+        Money.fromCents(cents(row)), TYPES[type(row)], CATEGORIES[category(row)],
+        ACCOUNT_TYPES[accountType(row)], LocalDate.ofEpochDay(day(row)),
+        fromMicros(buffer.getLong(createdAt + row * 8)),
+        fromMicros(buffer.getLong(updatedAt + row * 8)));
+    transaction.setVersion(buffer.getLong(versions + row * 8));
+    return transaction;
+  }
+
+  private String[] inflate(int block) {
+    int start = blockData + (int) buffer.getLong(blockOffsets + block * 8);
+    int end = blockData + (int) buffer.getLong(blockOffsets + (block + 1) * 8);
+    ByteBuffer compressed = buffer.slice(start, end - start);
+    Inflater inflater = new Inflater();
+    try {
+      inflater.setInput(compressed);
+      ByteArrayOutputStream plain = new ByteArrayOutputStream((end - start) * 4);
+      byte[] chunk = new byte[8192];
+      while (!inflater.finished()) {
+        int n = inflater.inflate(chunk);
+        if (n == 0 && (inflater.needsInput() || inflater.needsDictionary())) {
+          throw new IllegalStateException("Truncated description block in " + path);
+        }
+        plain.write(chunk, 0, n);
+      }
+      ByteBuffer data = ByteBuffer.wrap(plain.toByteArray());
+      String[] descriptions = new String[Math.min(BLOCK_ROWS, rows - block * BLOCK_ROWS)];
+      for (int i = 0; i < descriptions.length; i++) {
+        byte[] utf8 = new byte[data.getInt()];
+        data.get(utf8);
+        descriptions[i] = new String(utf8, StandardCharsets.UTF_8);
+      }
+      return descriptions;
+    } catch (DataFormatException e) {
+      throw new IllegalStateException("Corrupt description block in " + path, e);
+    } finally {
+      inflater.end();
+    }
+  }
+
+  private static byte[] deflate(List<Transaction> block) throws IOException {
+    ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+    Deflater deflater = new Deflater(Deflater.BEST_COMPRESSION);
+    try (DataOutputStream out = new DataOutputStream(new DeflaterOutputStream(bytes, deflater))) {
+      for (Transaction t : block) {
+        byte[] utf8 = t.getDescription().getBytes(StandardCharsets.UTF_8);
+        out.writeInt(utf8.length);
+        out.write(utf8);
+      }
+    } finally {
+      deflater.end();
+    }
+    return bytes.toByteArray();
+  }
+
+  private static long toMicros(LocalDateTime time) {
+    if (time == null) {
+      return NO_TIMESTAMP;
+    }
+    return time.toEpochSecond(ZoneOffset.UTC) * 1_000_000 + time.getNano() / 1_000;
+  }
+
+  private static LocalDateTime fromMicros(long micros) {
+    if (micros == NO_TIMESTAMP) {
+      return null;
+    }
+    return LocalDateTime.ofEpochSecond(Math.floorDiv(micros, 1_000_000),
+        (int) Math.floorMod(micros, 1_000_000) * 1_000, ZoneOffset.UTC);
+  }
+
+  /** The most recently inflated description block, for materialising rows in order. */
+  static final class Descriptions {
+
+    private TransactionArchiveSegment segment;
+    private int block = -1;
+    private String[] values;
+
+    String get(TransactionArchiveSegment owner, int row) {
+      int wanted = row / BLOCK_ROWS;
+      if (owner != segment || wanted != block) {
+        values = owner.inflate(wanted);
+        segment = owner;
+        block = wanted;
+      }
+      return values[row % BLOCK_ROWS];
+    }
+  }
+}
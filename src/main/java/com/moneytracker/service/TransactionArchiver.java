@@ -0,0 +1,94 @@
+package com.moneytracker.service;
+
+import com.moneytracker.model.Transaction;
+import com.moneytracker.repository.TransactionRepository;
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.time.Period;
+import java.util.List;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.data.domain.Limit;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * Moves transactions older than {@code money-tracker.archive.keep} from the transactions table
+ * to the {@link TransactionArchive}, enabled with {@code money-tracker.archive.enabled=true}
+ * and run on {@code money-tracker.archive.cron}. Each batch of {@code batch-size} rows is
+ * locked, written to a pending segment and deleted in one database transaction; the segment is
+ * published when that transaction commits and dropped when it rolls back, so a row is never in
+ * both tiers. For the moment between the commit and the publish, a file rename and map, it is
+ * in neither: reads miss the batch and writes to it return 404 rather than 409.
+ *
+ * <p>Archiving does not change the ledger, so no {@link TransactionChangedEvent}s are
+ * published and the in-memory totals and indexes stay as they are.
+ */
+@Service
+@ConditionalOnProperty(name = "money-tracker.archive.enabled", havingValue = "true")
+public class TransactionArchiver {
+
+  private static final Logger log = LoggerFactory.getLogger(TransactionArchiver.class);
+
+  private final TransactionRepository transactionRepository;
+  private final TransactionArchive transactionArchive;
+  private final TransactionTemplate transactionTemplate;
+  private final Period keep;
+  private final int batchSize;
+
+  public TransactionArchiver(TransactionRepository transactionRepository,
+      TransactionArchive transactionArchive, TransactionTemplate transactionTemplate,
+      @Value("${money-tracker.archive.keep:P1Y}") Period keep,
+      @Value("${money-tracker.archive.batch-size:10000}") int batchSize) {
+    this.transactionRepository = transactionRepository;
+    this.transactionArchive = transactionArchive;
+    this.transactionTemplate = transactionTemplate;
+    this.keep = keep;
+    this.batchSize = batchSize;
+  }
+
+  @Scheduled(cron = "${money-tracker.archive.cron:0 30 3 * * *}")
+  public void archiveExpired() {
+    archive(LocalDate.now().minus(keep));
+  }
+
+  /** Archives every transaction dated before {@code cutoff}; returns how many were moved. */
+  public int archive(LocalDate cutoff) {
+    int archived = 0;
+    int batch;
+    do {
+      batch = transactionTemplate.execute(status -> archiveBatch(cutoff));
+      archived += batch;
+    } while (batch == batchSize);
+    if (archived > 0) {
+      log.info("Archived {} transactions dated before {}", archived, cutoff);
+    }
+    return archived;
+  }
+
+  private int archiveBatch(LocalDate cutoff) {
+    List<Transaction> rows =
+        transactionRepository.findByDateBeforeOrderById(cutoff, Limit.of(batchSize));
+    if (rows.isEmpty()) {
+      return 0;
+    }
+    Path pending = transactionArchive.write(rows);
+    TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+      @Override
+      public void afterCompletion(int status) {
+        if (status == STATUS_COMMITTED) {
+          transactionArchive.publish(pending);
+        } else {
+          transactionArchive.discard(pending);
+        }
+      }
+    });
+    transactionRepository.deleteAllByIdInBatch(rows.stream().map(Transaction::getId).toList());
+    return rows.size();
+  }
+}
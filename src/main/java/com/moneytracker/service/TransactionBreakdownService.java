@@ -0,0 +1,87 @@
+package com.moneytracker.service;
+
+import com.moneytracker.model.AccountType;
+import com.moneytracker.model.Category;
+import com.moneytracker.model.Money;
+import com.moneytracker.model.TransactionBreakdown;
+import com.moneytracker.model.TransactionBreakdownRow;
+import com.moneytracker.model.TransactionMonthlyTotal;
+import com.moneytracker.model.TransactionType;
+import com.moneytracker.repository.TransactionRepository;
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+/**
+ * Per-month, per-category, per-account-type totals from one grouped query plus a scan of the
+ * {@link TransactionArchive}. The grouped rows (split by type) and the archived rows are folded
+ * into one long-cents array per month, indexed by category and account type ordinals, so no
+ * BigDecimal is created until the response is built.
+ */
+@Service
+public class TransactionBreakdownService {
+
+  private static final int ACCOUNT_TYPES = AccountType.values().length;
+  private static final int CELLS = Category.values().length * ACCOUNT_TYPES;
+
+  // layout of each cell within a month's array
+  private static final int INCOME = 0;
+  private static final int EXPENSE = 1;
+  private static final int COUNT = 2;
+  private static final int STRIDE = 3;
+
+  private final TransactionRepository transactionRepository;
+  private final TransactionArchive transactionArchive;
+
+  public TransactionBreakdownService(TransactionRepository transactionRepository,
+      TransactionArchive transactionArchive) {
+    this.transactionRepository = transactionRepository;
+    this.transactionArchive = transactionArchive;
+  }
+
+  @Transactional(readOnly = true)
+  public TransactionBreakdown getBreakdown(LocalDate from, LocalDate to) {
+    Map<YearMonth, long[]> months = new TreeMap<>();
+
+    for (TransactionMonthlyTotal total :
+        transactionRepository.sumByMonthCategoryAndAccountType(from, to)) {
+      add(months, YearMonth.of(total.getYear(), total.getMonth()), total.getCategory(),
+          total.getAccountType(), total.getType(), Money.toCents(total.getTotal()),
+          total.getCount());
+    }
+    transactionArchive.scan(TransactionArchive.Filter.of(from, to, null, null),
+        (id, day, cents, type, category, accountType) -> add(months,
+            YearMonth.from(LocalDate.ofEpochDay(day)), category, accountType, type, cents, 1));
+
+    List<TransactionBreakdownRow> rows = new ArrayList<>();
+    Category[] categories = Category.values();
+    AccountType[] accountTypes = AccountType.values();
+    for (Map.Entry<YearMonth, long[]> month : months.entrySet()) {
+      long[] cells = month.getValue();
+      for (int c = 0; c < CELLS; c++) {
+        int cell = c * STRIDE;
+        if (cells[cell + COUNT] == 0) {
+          continue;
+        }
+        rows.add(new TransactionBreakdownRow(month.getKey(), categories[c / ACCOUNT_TYPES],
+            accountTypes[c % ACCOUNT_TYPES], Money.fromCents(cells[cell + INCOME]),
+            Money.fromCents(cells[cell + EXPENSE]), cells[cell + COUNT]));
+      }
+    }
+    return new TransactionBreakdown(from, to, rows);
+  }
+
+  private static void add(Map<YearMonth, long[]> months, YearMonth month, Category category,
+      AccountType accountType, TransactionType type, long cents, long count) {
+    long[] cells = months.computeIfAbsent(month, m -> new long[CELLS * STRIDE]);
+    int cell = (category.ordinal() * ACCOUNT_TYPES + accountType.ordinal()) * STRIDE;
+    int slot = type == TransactionType.INCOME ? INCOME : EXPENSE;
+    cells[cell + slot] = Money.add(cells[cell + slot], cents);
+    cells[cell + COUNT] += count;
+  }
+}
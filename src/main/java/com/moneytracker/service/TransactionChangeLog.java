@@ -0,0 +1,243 @@
+package com.moneytracker.service;
+
+import com.moneytracker.model.Transaction;
+import com.moneytracker.model.TransactionChange;
+import com.moneytracker.model.TransactionChangeType;
+import com.moneytracker.model.TransactionChanges;
+import com.moneytracker.repository.TransactionBatchInserter;
+import com.moneytracker.repository.TransactionChangeRepository;
+import com.moneytracker.repository.TransactionRepository;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.Ordered;
+import org.springframework.data.domain.Limit;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * Change log behind delta sync and the ETags of the read endpoints. The
+ * {@link TransactionChangedEvent}s of a database transaction are collected and written to the
+ * log just before it commits, numbered by the table's auto-increment, so concurrent writers
+ * never wait on each other for a sequence number. Numbers are taken at insert rather than at
+ * commit, so an entry can become visible after one with a higher number. {@link #changesSince}
+ * therefore stops at a gap younger than {@link #GAP_GRACE}, which is a change still committing;
+ * older gaps are rolled back inserts. A client resuming from the last sequence it saw cannot
+ * miss a change unless that change took longer than the grace period to commit.
+ *
+ * <p>The ETags of lists and summaries come from an in-memory {@link #version()} bumped by every
+ * commit through this instance, so a conditional GET is answered without touching the database.
+ * The bodies behind those ETags come from in-memory totals, indexes and caches that also only
+ * see this instance's writes, so only a single instance writing through the API is supported:
+ * writes made by another instance, or straight in the database, change neither. The version is
+ * bumped after the listeners that update that state (ordered with
+ * {@link #STATE_LISTENER_ORDER}), so a client never gets a new ETag with a stale body.
+ *
+ * <p>The log is never pruned; {@code transaction_changes} grows by one row per write.
+ */
+@Component
+public class TransactionChangeLog implements SmartInitializingSingleton {
+
+  private static final Logger log = LoggerFactory.getLogger(TransactionChangeLog.class);
+
+  /**
+   * Order of the after-commit listeners that keep the in-memory totals, indexes and result
+   * cache keys current; the version is bumped after all of them.
+   */
+  static final int STATE_LISTENER_ORDER = 0;
+
+  /** Age after which a gap in the sequence is taken to be a rolled-back insert. */
+  static final Duration GAP_GRACE = Duration.ofSeconds(5);
+
+  public static final int DEFAULT_LIMIT = 500;
+  public static final int MAX_LIMIT = 1000;
+
+  private final TransactionChangeRepository changeRepository;
+  private final TransactionRepository transactionRepository;
+  private final TransactionArchive transactionArchive;
+  private final TransactionBatchInserter batchInserter;
+  private final TransactionTemplate transactionTemplate;
+  private final TransactionMetrics transactionMetrics;
+  private final AtomicLong version = new AtomicLong();
+
+  public TransactionChangeLog(TransactionChangeRepository changeRepository,
+      TransactionRepository transactionRepository, TransactionArchive transactionArchive,
+      TransactionBatchInserter batchInserter, TransactionTemplate transactionTemplate,
+      TransactionMetrics transactionMetrics) {
+    this.changeRepository = changeRepository;
+    this.transactionRepository = transactionRepository;
+    this.transactionArchive = transactionArchive;
+    this.batchInserter = batchInserter;
+    this.transactionTemplate = transactionTemplate;
+    this.transactionMetrics = transactionMetrics;
+  }
+
+  /**
+   * Starts the log if this database has none yet and sets the version past every sequence
+   * already used, so that it cannot repeat an ETag from before a restart.
+   */
+  @Override
+  public void afterSingletonsInstantiated() {
+    // two instances starting an empty log together both record the rows; the duplicates are
+    // harmless because delta sync reports each transaction once
+    transactionTemplate.executeWithoutResult(status -> {
+      if (changeRepository.findLastSequence().isEmpty()) {
+        int recorded = changeRepository.recordExistingTransactions();
+        log.info("Change log started with {} existing transactions", recorded);
+      }
+    });
+    version.set(changeRepository.findLastSequence().orElse(0L));
+  }
+
+  /** Version of the ledger as this instance has applied it; moves on with every commit. */
+  public long version() {
+    return version.get();
+  }
+
+  /**
+   * Changes committed after {@code since}, oldest first and at most {@code limit} log entries.
+   * Only the latest change of each transaction is reported; created and updated transactions
+   * are returned as they are now, from the table or the {@link TransactionArchive}; archiving
+   * itself is not a change. Stops early at a recent gap in the sequence, reporting no more.
+   */
+  @Transactional(readOnly = true)
+  public TransactionChanges changesSince(long since, int limit) {
+    int size = Math.min(Math.max(limit, 1), MAX_LIMIT);
+    List<TransactionChange> changes =
+        changeRepository.findBySequenceGreaterThanOrderBySequence(since, Limit.of(size + 1));
+    LocalDateTime settled = LocalDateTime.now().minus(GAP_GRACE);
+    int end = 0;
+    long previous = since;
+    while (end < Math.min(size, changes.size())) {
+      TransactionChange change = changes.get(end);
+      if (change.getSequence() != previous + 1 && change.getRecordedAt() != null
+          && change.getRecordedAt().isAfter(settled)) {
+        // the missing sequence may still commit; resume from before it next time
+        break;
+      }
+      previous = change.getSequence();
+      end++;
+    }
+    boolean hasMore = end == size && changes.size() > size;
+    changes = changes.subList(0, end);
+
+    Map<Long, TransactionChangeType> latest = new LinkedHashMap<>();
+    for (TransactionChange change : changes) {
+      latest.remove(change.getTransactionId());
+      latest.put(change.getTransactionId(), change.getType());
+    }
+    List<Long> upserted = new ArrayList<>();
+    List<Long> deleted = new ArrayList<>();
+    latest.forEach((id, type) -> (type == TransactionChangeType.DELETED ? deleted : upserted)
+        .add(id));
+
+    Map<Long, Transaction> byId = new HashMap<>();
+    for (Transaction transaction : transactionRepository.findAllById(upserted)) {
+      byId.put(transaction.getId(), transaction);
+    }
+    if (byId.size() < upserted.size() && !transactionArchive.isEmpty()) {
+      List<Long> missing = upserted.stream().filter(id -> !byId.containsKey(id)).toList();
+      for (Transaction transaction : transactionArchive.findAllById(missing)) {
+        byId.put(transaction.getId(), transaction);
+      }
+    }
+    List<Transaction> changed = new ArrayList<>();
+    for (Long id : upserted) {
+      Transaction transaction = byId.get(id);
+      if (transaction != null) {
+        changed.add(transaction);
+      } else {
+        // deleted since; its tombstone comes later in the log, reporting it now is harmless
+        deleted.add(id);
+      }
+    }
+
+    long sequence = changes.isEmpty() ? since : changes.get(changes.size() - 1).getSequence();
+    return new TransactionChanges(transactionMetrics.rowsLoaded("changesSince", changed), deleted,
+        sequence, hasMore);
+  }
+
+  /**
+   * Queues the change for the log write of the current database transaction. Like a
+   * {@code @TransactionalEventListener}, it ignores changes made outside of a transaction.
+   */
+  @EventListener
+  public void onTransactionChanged(TransactionChangedEvent event) {
+    if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+      return;
+    }
+    // registered synchronizations are per transaction and suspended with it, unlike resources
+    Pending pending = null;
+    for (TransactionSynchronization synchronization
+        : TransactionSynchronizationManager.getSynchronizations()) {
+      if (synchronization instanceof Pending candidate && candidate.owner() == this) {
+        pending = candidate;
+      }
+    }
+    if (pending == null) {
+      pending = new Pending();
+      TransactionSynchronizationManager.registerSynchronization(pending);
+    }
+    pending.events.add(event);
+  }
+
+  private void write(List<TransactionChangedEvent> events) {
+    LocalDateTime now = LocalDateTime.now();
+    List<TransactionChange> changes = new ArrayList<>(events.size());
+    for (TransactionChangedEvent event : events) {
+      Transaction after = event.getAfter();
+      if (after == null) {
+        changes.add(new TransactionChange(event.getBefore().getId(),
+            TransactionChangeType.DELETED, now));
+      } else {
+        changes.add(new TransactionChange(after.getId(),
+            event.getBefore() == null ? TransactionChangeType.CREATED
+                : TransactionChangeType.UPDATED,
+            after.getUpdatedAt()));
+      }
+    }
+    batchInserter.insertChanges(changes);
+  }
+
+  /**
+   * The changes of one database transaction, written just before it commits. Synchronizations
+   * run sorted by order, so this one completes after the state listeners.
+   */
+  private final class Pending implements TransactionSynchronization, Ordered {
+
+    final List<TransactionChangedEvent> events = new ArrayList<>();
+
+    TransactionChangeLog owner() {
+      return TransactionChangeLog.this;
+    }
+
+    @Override
+    public int getOrder() {
+      return Ordered.LOWEST_PRECEDENCE;
+    }
+
+    @Override
+    public void beforeCommit(boolean readOnly) {
+      write(events);
+    }
+
+    @Override
+    public void afterCompletion(int status) {
+      if (status == STATUS_COMMITTED) {
+        version.incrementAndGet();
+      }
+    }
+  }
+}
@@ -0,0 +1,48 @@
+package com.moneytracker.service;
+
+import com.moneytracker.model.Transaction;
+
+/**
+ * Published by {@link TransactionService} for every write. {@code before} is null for creates
+ * and {@code after} is null for deletes; both are detached copies, so listeners running after
+ * commit see the row exactly as it was written.
+ */
+public class TransactionChangedEvent {
+
+  private final Transaction before;
+  private final Transaction after;
+
+  private TransactionChangedEvent(Transaction before, Transaction after) {
+    this.before = before;
+    this.after = after;
+  }
+
+  public static TransactionChangedEvent created(Transaction after) {
+    return new TransactionChangedEvent(null, copyOf(after));
+  }
+
+  public static TransactionChangedEvent updated(Transaction before, Transaction after) {
+    return new TransactionChangedEvent(copyOf(before), copyOf(after));
+  }
+
+  public static TransactionChangedEvent deleted(Transaction before) {
+    return new TransactionChangedEvent(copyOf(before), null);
+  }
+
+  static Transaction copyOf(Transaction transaction) {
+    Transaction copy = new Transaction(transaction.getId(), transaction.getDescription(),
+        transaction.getAmount(), transaction.getType(), transaction.getCategory(),
+        transaction.getAccountType(), transaction.getDate(), transaction.getCreatedAt(),
+        transaction.getUpdatedAt());
+    copy.setVersion(transaction.getVersion());
+    return copy;
+  }
+
+  public Transaction getBefore() {
+    return before;
+  }
+
+  public Transaction getAfter() {
+    return after;
+  }
+}
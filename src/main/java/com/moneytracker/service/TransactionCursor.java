@@ -0,0 +1,50 @@
+package com.moneytracker.service;
+
+import com.moneytracker.model.Transaction;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.util.Base64;
+
+/**
+ * Keyset position of the last row on a page. Encoded as URL-safe base64 so clients treat it
+ * as an opaque token rather than building their own.
+ */
+final class TransactionCursor {
+
+  private final LocalDate date;
+  private final long id;
+
+  TransactionCursor(LocalDate date, long id) {
+    this.date = date;
+    this.id = id;
+  }
+
+  static TransactionCursor after(Transaction transaction) {
+    return new TransactionCursor(transaction.getDate(), transaction.getId());
+  }
+
+  static TransactionCursor decode(String token) {
+    try {
+      String raw = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8);
+      int separator = raw.indexOf(':');
+      return new TransactionCursor(LocalDate.ofEpochDay(Long.parseLong(raw.substring(0, separator))),
+          Long.parseLong(raw.substring(separator + 1)));
+    } catch (RuntimeException e) {
+      throw new IllegalArgumentException("Invalid cursor", e);
+    }
+  }
+
+  String encode() {
+    String raw = date.toEpochDay() + ":" + id;
+    return Base64.getUrlEncoder().withoutPadding()
+        .encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+  }
+
+  LocalDate getDate() {
+    return date;
+  }
+
+  long getId() {
+    return id;
+  }
+}
@@ -0,0 +1,272 @@
+package com.moneytracker.service;
+
+import com.moneytracker.model.Money;
+import com.moneytracker.model.Transaction;
+import com.moneytracker.model.TransactionDailyBalance;
+import com.moneytracker.model.TransactionDailyTotal;
+import com.moneytracker.model.TransactionSummary;
+import com.moneytracker.model.TransactionType;
+import com.moneytracker.repository.TransactionRepository;
+import java.time.LocalDate;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.NavigableMap;
+import java.util.TreeMap;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+/**
+ * Income, expense and transaction count per day, held as Fenwick trees (binary indexed trees)
+ * over the epoch day so that the total of any date range is two O(log n) prefix sums.
+ *
+ * <p>Days from 1970-01-01 up to {@link #MAX_DAYS} are indexed directly; the rare rows outside
+ * that window are kept per day in a sorted map and added to each prefix sum. Like
+ * {@link TransactionTotals}, the trees are built from one grouped query before the application
+ * serves requests and then kept current from {@link TransactionChangedEvent}s after commit.
+ */
+@Component
+public class TransactionDailyTotals implements SmartInitializingSingleton {
+
+  /** Days indexed by the trees: 1970-01-01 up to somewhere in the year 4840. */
+  static final int MAX_DAYS = 1 << 20;
+  /** Longest running-balance series one request may ask for. */
+  static final int MAX_SERIES_DAYS = 3660;
+
+  // one tree per column
+  private static final int INCOME = 0;
+  private static final int EXPENSE = 1;
+  private static final int COUNT = 2;
+  private static final int STRIDE = 3;
+
+  private final TransactionRepository transactionRepository;
+  private final TransactionArchive transactionArchive;
+  private final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+  private Days days = new Days(0);
+
+  public TransactionDailyTotals(TransactionRepository transactionRepository,
+      TransactionArchive transactionArchive) {
+    this.transactionRepository = transactionRepository;
+    this.transactionArchive = transactionArchive;
+  }
+
+  @Override
+  public void afterSingletonsInstantiated() {
+    rebuild();
+  }
+
+  /**
+   * Totals for the transactions dated from {@code from} to {@code to}, both inclusive; either
+   * bound may be null.
+   *
+   * @throws IllegalArgumentException if {@code from} is after {@code to}
+   */
+  public TransactionSummary between(LocalDate from, LocalDate to) {
+    checkRange(from, to);
+    lock.readLock().lock();
+    try {
+      long[] upTo = days.prefix(to == null ? Long.MAX_VALUE : to.toEpochDay());
+      if (from != null) {
+        long[] before = days.prefix(from.toEpochDay() - 1);
+        for (int c = 0; c < STRIDE; c++) {
+          upTo[c] = Money.subtract(upTo[c], before[c]);
+        }
+      }
+      return new TransactionSummary(Money.fromCents(upTo[INCOME]),
+          Money.fromCents(upTo[EXPENSE]),
+          Money.fromCents(Money.subtract(upTo[INCOME], upTo[EXPENSE])),
+          Math.toIntExact(upTo[COUNT]));
+    } finally {
+      lock.readLock().unlock();
+    }
+  }
+
+  /**
+   * One entry per day from {@code from} to {@code to}, both inclusive, with the balance of
+   * every transaction up to and including that day.
+   *
+   * @throws IllegalArgumentException if the range is reversed or longer than
+   *     {@link #MAX_SERIES_DAYS}
+   */
+  public List<TransactionDailyBalance> runningBalance(LocalDate from, LocalDate to) {
+    checkRange(from, to);
+    if (ChronoUnit.DAYS.between(from, to) >= MAX_SERIES_DAYS) {
+      throw new IllegalArgumentException(
+          "Running balance is limited to " + MAX_SERIES_DAYS + " days");
+    }
+
+    lock.readLock().lock();
+    try {
+      long[] opening = days.prefix(from.toEpochDay() - 1);
+      long balance = Money.subtract(opening[INCOME], opening[EXPENSE]);
+      List<TransactionDailyBalance> series = new ArrayList<>();
+      for (LocalDate date = from; !date.isAfter(to); date = date.plusDays(1)) {
+        long[] day = days.get(date.toEpochDay());
+        balance = Money.add(balance, Money.subtract(day[INCOME], day[EXPENSE]));
+        series.add(new TransactionDailyBalance(date, Money.fromCents(day[INCOME]),
+            Money.fromCents(day[EXPENSE]), day[COUNT], Money.fromCents(balance)));
+      }
+      return series;
+    } finally {
+      lock.readLock().unlock();
+    }
+  }
+
+  @TransactionalEventListener
+  @Order(TransactionChangeLog.STATE_LISTENER_ORDER)
+  public void onTransactionChanged(TransactionChangedEvent event) {
+    lock.writeLock().lock();
+    try {
+      if (event.getBefore() != null) {
+        apply(event.getBefore(), -1);
+      }
+      if (event.getAfter() != null) {
+        apply(event.getAfter(), 1);
+      }
+    } finally {
+      lock.writeLock().unlock();
+    }
+  }
+
+  /**
+   * Replaces the trees with a fresh aggregate of the transactions table and the
+   * {@link TransactionArchive}, with the same caveat as {@link TransactionTotals#rebuild()}.
+   */
+  public void rebuild() {
+    lock.writeLock().lock();
+    try {
+      List<TransactionDailyTotal> rows = transactionRepository.sumByDateAndType();
+      long lastDay = rows.stream()
+          .mapToLong(row -> row.getDate().toEpochDay())
+          .filter(day -> day >= 0 && day < MAX_DAYS)
+          .max()
+          .orElse(0);
+      Days fresh = new Days(Math.max(lastDay, LocalDate.now().toEpochDay()) + 1);
+      for (TransactionDailyTotal row : rows) {
+        fresh.add(row.getDate().toEpochDay(), row.getType(), Money.toCents(row.getTotal()),
+            row.getCount());
+      }
+      // archived rows are older than the live ones, so they never widen the window
+      transactionArchive.scan(TransactionArchive.Filter.ALL,
+          (id, day, cents, type, category, accountType) -> fresh.add(day, type, cents, 1));
+      days = fresh;
+    } finally {
+      lock.writeLock().unlock();
+    }
+  }
+
+  private void apply(Transaction transaction, int sign) {
+    days.add(transaction.getDate().toEpochDay(), transaction.getType(),
+        sign * Money.toCents(transaction.getAmount()), sign);
+  }
+
+  private static void checkRange(LocalDate from, LocalDate to) {
+    if (from != null && to != null && from.isAfter(to)) {
+      throw new IllegalArgumentException("from must not be after to");
+    }
+  }
+
+  /**
+   * Per-day columns: one Fenwick tree per column for days in [0, capacity), a sorted map for
+   * the rest. The raw per-day values are kept alongside the trees so that growing the window
+   * is a linear rebuild and single days are read without a tree walk.
+   */
+  private static final class Days {
+
+    private long[][] daily;
+    private long[][] trees;
+    private final NavigableMap<Long, long[]> outside = new TreeMap<>();
+
+    Days(long minCapacity) {
+      int capacity = Math.toIntExact(Math.min(MAX_DAYS, Math.max(minCapacity, 1)));
+      daily = new long[STRIDE][capacity];
+      trees = new long[STRIDE][capacity + 1];
+    }
+
+    void add(long day, TransactionType type, long cents, long rows) {
+      int column = type == TransactionType.INCOME ? INCOME : EXPENSE;
+      if (day < 0 || day >= MAX_DAYS) {
+        long[] values = outside.computeIfAbsent(day, d -> new long[STRIDE]);
+        values[column] = Money.add(values[column], cents);
+        values[COUNT] += rows;
+        if (values[COUNT] == 0) {
+          outside.remove(day);
+        }
+        return;
+      }
+      if (day >= daily[0].length) {
+        grow(day + 1);
+      }
+      int index = (int) day;
+      addAt(column, index, cents);
+      addAt(COUNT, index, rows);
+    }
+
+    /** Sums of every day up to and including {@code day}. */
+    long[] prefix(long day) {
+      long[] sum = new long[STRIDE];
+      if (day >= 0) {
+        int last = (int) Math.min(day, daily[0].length - 1);
+        for (int c = 0; c < STRIDE; c++) {
+          long[] tree = trees[c];
+          long total = 0;
+          for (int i = last + 1; i > 0; i -= i & -i) {
+            total = Money.add(total, tree[i]);
+          }
+          sum[c] = total;
+        }
+      }
+      for (long[] values : outside.headMap(day, true).values()) {
+        for (int c = 0; c < STRIDE; c++) {
+          sum[c] = Money.add(sum[c], values[c]);
+        }
+      }
+      return sum;
+    }
+
+    long[] get(long day) {
+      if (day >= 0 && day < daily[0].length) {
+        int index = (int) day;
+        return new long[] {daily[INCOME][index], daily[EXPENSE][index], daily[COUNT][index]};
+      }
+      return outside.getOrDefault(day, new long[STRIDE]);
+    }
+
+    private void addAt(int column, int index, long delta) {
+      daily[column][index] = Money.add(daily[column][index], delta);
+      long[] tree = trees[column];
+      for (int i = index + 1; i < tree.length; i += i & -i) {
+        tree[i] = Money.add(tree[i], delta);
+      }
+    }
+
+    /** Doubles the window until it covers {@code minCapacity} days and rebuilds the trees. */
+    private void grow(long minCapacity) {
+      int capacity = daily[0].length;
+      while (capacity < minCapacity) {
+        capacity = Math.min(MAX_DAYS, capacity * 2);
+      }
+      long[][] grownDaily = new long[STRIDE][];
+      long[][] grownTrees = new long[STRIDE][capacity + 1];
+      for (int c = 0; c < STRIDE; c++) {
+        grownDaily[c] = Arrays.copyOf(daily[c], capacity);
+        long[] tree = grownTrees[c];
+        for (int i = 1; i <= capacity; i++) {
+          tree[i] = Money.add(tree[i], grownDaily[c][i - 1]);
+          int parent = i + (i & -i);
+          if (parent <= capacity) {
+            tree[parent] = Money.add(tree[parent], tree[i]);
+          }
+        }
+      }
+      daily = grownDaily;
+      trees = grownTrees;
+    }
+  }
+}
@@ -0,0 +1,114 @@
+package com.moneytracker.service;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.moneytracker.model.ExportFormat;
+import com.moneytracker.model.Transaction;
+import com.moneytracker.repository.TransactionRepository;
+import jakarta.persistence.EntityManager;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.util.Iterator;
+import java.util.stream.Stream;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+/**
+ * Writes the whole ledger to an output stream one row at a time: the {@link TransactionArchive}
+ * first, then the transactions table. Table rows come from a database cursor and the
+ * persistence context is cleared every {@link #CLEAR_INTERVAL} rows, so memory use does not
+ * depend on the size of the ledger.
+ */
+@Service
+public class TransactionExporter {
+
+  static final int CLEAR_INTERVAL = TransactionRepository.STREAM_FETCH_SIZE;
+
+  private static final String CSV_HEADER =
+      "id,description,amount,type,category,accountType,date,createdAt,updatedAt\n";
+
+  private final TransactionRepository transactionRepository;
+  private final TransactionArchive transactionArchive;
+  private final EntityManager entityManager;
+  private final ObjectMapper objectMapper;
+
+  public TransactionExporter(TransactionRepository transactionRepository,
+      TransactionArchive transactionArchive, EntityManager entityManager,
+      ObjectMapper objectMapper) {
+    this.transactionRepository = transactionRepository;
+    this.transactionArchive = transactionArchive;
+    this.entityManager = entityManager;
+    this.objectMapper = objectMapper;
+  }
+
+  @Transactional(readOnly = true)
+  public void export(ExportFormat format, OutputStream out) throws IOException {
+    try (Stream<Transaction> rows =
+        Stream.concat(transactionArchive.stream(), transactionRepository.streamAll())) {
+      if (format == ExportFormat.CSV) {
+        writeCsv(rows.iterator(), out);
+      } else {
+        writeNdjson(rows.iterator(), out);
+      }
+    }
+  }
+
+  private void writeNdjson(Iterator<Transaction> rows, OutputStream out) throws IOException {
+    // one flush at the end instead of one per row; the generator buffers in between
+    ObjectWriter writer = objectMapper.writerFor(Transaction.class)
+        .without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE);
+    JsonGenerator generator = objectMapper.getFactory().createGenerator(out)
+        .disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+    generator.setRootValueSeparator(null);
+
+    int written = 0;
+    while (rows.hasNext()) {
+      writer.writeValue(generator, rows.next());
+      generator.writeRaw('\n');
+      written = clearIfDue(written);
+    }
+    generator.close();
+  }
+
+  private void writeCsv(Iterator<Transaction> rows, OutputStream out) throws IOException {
+    Writer writer = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8));
+    writer.write(CSV_HEADER);
+
+    int written = 0;
+    while (rows.hasNext()) {
+      Transaction t = rows.next();
+      writer.append(String.valueOf(t.getId())).append(',')
+          .append(csvQuote(t.getDescription())).append(',')
+          .append(t.getAmount().toPlainString()).append(',')
+          .append(t.getType().name()).append(',')
+          .append(t.getCategory().name()).append(',')
+          .append(t.getAccountType().name()).append(',')
+          .append(String.valueOf(t.getDate())).append(',')
+          .append(t.getCreatedAt() == null ? "" : t.getCreatedAt().toString()).append(',')
+          .append(t.getUpdatedAt() == null ? "" : t.getUpdatedAt().toString()).append('\n');
+      written = clearIfDue(written);
+    }
+    writer.flush();
+  }
+
+  private int clearIfDue(int written) {
+    if (++written % CLEAR_INTERVAL == 0) {
+      entityManager.clear();
+    }
+    return written;
+  }
+
+  private static String csvQuote(String value) {
+    if (value.indexOf(',') < 0 && value.indexOf('"') < 0 && value.indexOf('\n') < 0
+        && value.indexOf('\r') < 0) {
+      return value;
+    }
+    return '"' + value.replace("\"", "\"\"") + '"';
+  }
+}
@@ -0,0 +1,61 @@
+package com.moneytracker.service;
+
+import com.moneytracker.service.InvalidTransactionException.Reason;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.util.Collection;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import org.springframework.data.domain.Slice;
+import org.springframework.stereotype.Component;
+
+/**
+ * Transaction meters that the {@code @Timed} service timers do not cover: validation rejects by
+ * reason and the number of rows each read loads from the database. Row counts are a
+ * distribution rather than a gauge so that p95/p99 show the calls that hydrate whole tables.
+ */
+@Component
+public class TransactionMetrics {
+
+  static final String VALIDATION_REJECTED = "transaction.validation.rejected";
+  static final String ROWS_LOADED = "transaction.rows.loaded";
+
+  private final MeterRegistry meterRegistry;
+  private final Map<Reason, Counter> rejected = new EnumMap<>(Reason.class);
+  private final Map<String, DistributionSummary> rowsLoaded = new ConcurrentHashMap<>();
+
+  public TransactionMetrics(MeterRegistry meterRegistry) {
+    this.meterRegistry = meterRegistry;
+    for (Reason reason : Reason.values()) {
+      rejected.put(reason, Counter.builder(VALIDATION_REJECTED)
+          .description("Transactions rejected by validation on create")
+          .tag("reason", reason.name().toLowerCase())
+          .register(meterRegistry));
+    }
+  }
+
+  public void rejected(InvalidTransactionException e) {
+    rejected.get(e.getReason()).increment();
+  }
+
+  public <T extends Collection<?>> T rowsLoaded(String method, T rows) {
+    rowsLoadedSummary(method).record(rows.size());
+    return rows;
+  }
+
+  public <T extends Slice<?>> T rowsLoaded(String method, T slice) {
+    rowsLoadedSummary(method).record(slice.getNumberOfElements());
+    return slice;
+  }
+
+  private DistributionSummary rowsLoadedSummary(String method) {
+    return rowsLoaded.computeIfAbsent(method, m -> DistributionSummary.builder(ROWS_LOADED)
+        .description("Rows loaded from the database per call")
+        .baseUnit("rows")
+        .tag("method", m)
+        .publishPercentiles(0.5, 0.95, 0.99)
+        .register(meterRegistry));
+  }
+}
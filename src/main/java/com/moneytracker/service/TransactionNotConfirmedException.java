@@ -0,0 +1,12 @@
+package com.moneytracker.service;
+
+/**
+ * A transaction that was accepted for writing but not confirmed as committed in time. Unlike a
+ * rejected one it may still be written, so retrying the request can create it twice.
+ */
+public class TransactionNotConfirmedException extends RuntimeException {
+
+  public TransactionNotConfirmedException(String message, Throwable cause) {
+    super(message, cause);
+  }
+}
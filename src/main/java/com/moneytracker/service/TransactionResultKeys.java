@@ -0,0 +1,59 @@
+package com.moneytracker.service;
+
+import com.moneytracker.model.Category;
+import com.moneytracker.model.Transaction;
+import com.moneytracker.model.TransactionType;
+import java.io.Serializable;
+import java.util.concurrent.atomic.AtomicLongArray;
+import org.springframework.core.annotation.Order;
+import org.springframework.data.domain.Pageable;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+/**
+ * Cache keys for the by-type and by-category result caches. Each enum value carries a
+ * generation that is bumped once a write touching that value commits; keys built afterwards
+ * no longer match the stale entries, which then age out of the cache. Only the affected type
+ * and category lose their cached results, and the scheme works with any cache backend.
+ */
+@Component
+public class TransactionResultKeys {
+
+  private final AtomicLongArray typeGenerations =
+      new AtomicLongArray(TransactionType.values().length);
+  private final AtomicLongArray categoryGenerations =
+      new AtomicLongArray(Category.values().length);
+
+  public Object of(TransactionType type) {
+    return of(type, null);
+  }
+
+  public Object of(TransactionType type, Pageable window) {
+    return new ResultKey(type, typeGenerations.get(type.ordinal()), window);
+  }
+
+  public Object of(Category category) {
+    return of(category, null);
+  }
+
+  public Object of(Category category, Pageable window) {
+    return new ResultKey(category, categoryGenerations.get(category.ordinal()), window);
+  }
+
+  @TransactionalEventListener
+  @Order(TransactionChangeLog.STATE_LISTENER_ORDER)
+  public void onTransactionChanged(TransactionChangedEvent event) {
+    invalidate(event.getBefore());
+    invalidate(event.getAfter());
+  }
+
+  private void invalidate(Transaction transaction) {
+    if (transaction != null) {
+      typeGenerations.incrementAndGet(transaction.getType().ordinal());
+      categoryGenerations.incrementAndGet(transaction.getCategory().ordinal());
+    }
+  }
+
+  record ResultKey(Enum<?> value, long generation, Pageable window) implements Serializable {
+  }
+}
@@ -0,0 +1,445 @@
+package com.moneytracker.service;
+
+import com.moneytracker.model.AccountType;
+import com.moneytracker.model.Category;
+import com.moneytracker.model.Transaction;
+import com.moneytracker.model.TransactionSearchColumns;
+import com.moneytracker.model.TransactionType;
+import com.moneytracker.repository.TransactionRepository;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Comparator;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.NavigableMap;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.stream.Stream;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * In-memory inverted index over transaction descriptions. Descriptions are split into
+ * lower-cased words; every word maps to the ascending list of documents containing it, and the
+ * dictionary is sorted so that a prefix is a contiguous range of words. Each query word matches
+ * the words it is a prefix of, all query words must match, and results are ranked by the
+ * rarity of the matched words (exact matches above prefix matches), then newest first.
+ *
+ * <p>Every indexed row is a document with its type, category, account type and date kept
+ * alongside, so filters never reach the database. Updates and deletes retire the old document
+ * and updates add a new one; retired documents are skipped by searches and dropped, in memory,
+ * once they make up a quarter of the index (see {@link #MIN_RETIRED_TO_COMPACT}). Ids map to
+ * documents through a {@link LongIntMap}, so no entry is boxed. Like {@link TransactionTotals},
+ * the index is loaded before the application serves requests and kept current from
+ * {@link TransactionChangedEvent}s after commit.
+ */
+@Component
+public class TransactionSearchIndex implements SmartInitializingSingleton {
+
+  private static final Logger log = LoggerFactory.getLogger(TransactionSearchIndex.class);
+
+  /** Weight of a word that only starts with the query word, relative to an exact match. */
+  static final double PREFIX_WEIGHT = 0.5;
+
+  /**
+   * A common query word is checked per candidate (binary search in its postings) instead of
+   * being expanded into a bitmap when it spans at most this many dictionary words and at least
+   * {@link #PROBE_RATIO} times as many documents as there are candidates left.
+   */
+  private static final int MAX_PROBED_WORDS = 8;
+  private static final int PROBE_RATIO = 16;
+
+  /** Deepest result a search may page to; ranking keeps offset + limit hits in a heap. */
+  static final int MAX_OFFSET = 10_000;
+  /** Largest page a search may return. */
+  static final int MAX_LIMIT = 1000;
+
+  /**
+   * Retired documents are compacted away once there are at least this many and they are at
+   * least a quarter of all documents, so compaction costs O(1) amortised per write.
+   */
+  static final int MIN_RETIRED_TO_COMPACT = 1024;
+
+  /** Type, category or account type filter that matches every document. */
+  private static final byte ANY = -1;
+
+  private final TransactionRepository transactionRepository;
+  private final TransactionTemplate transactionTemplate;
+  private final TransactionArchive transactionArchive;
+  private final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+  private Documents documents = new Documents();
+
+  public TransactionSearchIndex(TransactionRepository transactionRepository,
+      TransactionTemplate transactionTemplate, TransactionArchive transactionArchive) {
+    this.transactionRepository = transactionRepository;
+    this.transactionTemplate = transactionTemplate;
+    this.transactionArchive = transactionArchive;
+  }
+
+  @Override
+  public void afterSingletonsInstantiated() {
+    rebuild();
+  }
+
+  /**
+   * Ids of the transactions matching every word of {@code query} and the given filters (any of
+   * which may be null), best first, skipping {@code offset} and returning at most
+   * {@code limit}.
+   *
+   * @throws IllegalArgumentException if the query has no words, {@code offset} is negative or
+   *     over {@link #MAX_OFFSET}, or {@code limit} is not between 1 and {@link #MAX_LIMIT}
+   */
+  public Hits search(String query, TransactionType type, Category category,
+      AccountType accountType, LocalDate from, LocalDate to, int offset, int limit) {
+    if (offset < 0 || offset > MAX_OFFSET) {
+      throw new IllegalArgumentException(
+          "Search results can only be paged up to offset " + MAX_OFFSET);
+    }
+    if (limit < 1 || limit > MAX_LIMIT) {
+      throw new IllegalArgumentException("Search page size must be between 1 and " + MAX_LIMIT);
+    }
+    Set<String> words = new LinkedHashSet<>(words(query));
+    if (words.isEmpty()) {
+      throw new IllegalArgumentException("Search query must contain at least one word");
+    }
+
+    lock.readLock().lock();
+    try {
+      return documents.search(words, new Filter(
+          type == null ? ANY : (byte) type.ordinal(),
+          category == null ? ANY : (byte) category.ordinal(),
+          accountType == null ? ANY : (byte) accountType.ordinal(),
+          from == null ? Long.MIN_VALUE : from.toEpochDay(),
+          to == null ? Long.MAX_VALUE : to.toEpochDay()), offset, limit);
+    } finally {
+      lock.readLock().unlock();
+    }
+  }
+
+  @TransactionalEventListener
+  @Order(TransactionChangeLog.STATE_LISTENER_ORDER)
+  public void onTransactionChanged(TransactionChangedEvent event) {
+    lock.writeLock().lock();
+    try {
+      if (event.getBefore() != null) {
+        documents.remove(event.getBefore().getId());
+      }
+      Transaction after = event.getAfter();
+      if (after != null) {
+        documents.add(after.getId(), after.getDescription(), after.getType(),
+            after.getCategory(), after.getAccountType(), after.getDate());
+      }
+      int retired = documents.size - documents.byId.size();
+      if (retired >= MIN_RETIRED_TO_COMPACT && retired * 4 >= documents.size) {
+        documents.compact();
+      }
+    } finally {
+      lock.writeLock().unlock();
+    }
+  }
+
+  /**
+   * Replaces the index with a fresh one built from the transactions table and the
+   * {@link TransactionArchive}, with the same caveat as {@link TransactionTotals#rebuild()}.
+   * Searches keep using the old index until the new one is complete.
+   */
+  public void rebuild() {
+    lock.writeLock().lock();
+    try {
+      Documents fresh = new Documents();
+      try (Stream<Transaction> archived = transactionArchive.stream()) {
+        archived.forEach(row -> fresh.add(row.getId(), row.getDescription(), row.getType(),
+            row.getCategory(), row.getAccountType(), row.getDate()));
+      }
+      transactionTemplate.executeWithoutResult(status -> {
+        try (Stream<TransactionSearchColumns> rows = transactionRepository.streamSearchColumns()) {
+          rows.forEach(row -> fresh.add(row.getId(), row.getDescription(), row.getType(),
+              row.getCategory(), row.getAccountType(), row.getDate()));
+        }
+      });
+      documents = fresh;
+      log.info("Search index loaded: {} transactions, {} distinct words", fresh.byId.size(),
+          fresh.dictionary.size());
+    } finally {
+      lock.writeLock().unlock();
+    }
+  }
+
+  /** Documents held, including retired ones not yet compacted away. */
+  int documentCount() {
+    lock.readLock().lock();
+    try {
+      return documents.size;
+    } finally {
+      lock.readLock().unlock();
+    }
+  }
+
+  /** Lower-cased runs of letters and digits. */
+  static List<String> words(String text) {
+    List<String> words = new ArrayList<>();
+    if (text == null) {
+      return words;
+    }
+    String lower = text.toLowerCase(Locale.ROOT);
+    int start = -1;
+    for (int i = 0; i <= lower.length(); i++) {
+      boolean letter = i < lower.length() && Character.isLetterOrDigit(lower.charAt(i));
+      if (letter && start < 0) {
+        start = i;
+      } else if (!letter && start >= 0) {
+        words.add(lower.substring(start, i));
+        start = -1;
+      }
+    }
+    return words;
+  }
+
+  /** One page of search results. */
+  public record Hits(List<Long> ids, boolean hasNext) {
+  }
+
+  private record Filter(byte type, byte category, byte accountType, long fromDay, long toDay) {
+
+    boolean matches(Documents documents, int doc) {
+      return (type == ANY || documents.types[doc] == type)
+          && (category == ANY || documents.categories[doc] == category)
+          && (accountType == ANY || documents.accountTypes[doc] == accountType)
+          && documents.days[doc] >= fromDay && documents.days[doc] <= toDay;
+    }
+  }
+
+  private static final class Documents {
+
+    final NavigableMap<String, Postings> dictionary = new TreeMap<>();
+    LongIntMap byId = new LongIntMap();
+    final BitSet live = new BitSet();
+    long[] ids = new long[1024];
+    long[] days = new long[1024];
+    byte[] types = new byte[1024];
+    byte[] categories = new byte[1024];
+    byte[] accountTypes = new byte[1024];
+    int size;
+
+    void add(long id, String description, TransactionType type, Category category,
+        AccountType accountType, LocalDate date) {
+      if (size == ids.length) {
+        int capacity = size * 2;
+        ids = Arrays.copyOf(ids, capacity);
+        days = Arrays.copyOf(days, capacity);
+        types = Arrays.copyOf(types, capacity);
+        categories = Arrays.copyOf(categories, capacity);
+        accountTypes = Arrays.copyOf(accountTypes, capacity);
+      }
+      int doc = size++;
+      ids[doc] = id;
+      days[doc] = date.toEpochDay();
+      types[doc] = (byte) type.ordinal();
+      categories[doc] = (byte) category.ordinal();
+      accountTypes[doc] = (byte) accountType.ordinal();
+      live.set(doc);
+      byId.put(id, doc);
+      for (String word : new LinkedHashSet<>(words(description))) {
+        dictionary.computeIfAbsent(word, w -> new Postings()).add(doc);
+      }
+    }
+
+    void remove(long id) {
+      int doc = byId.remove(id);
+      if (doc != LongIntMap.NONE) {
+        live.clear(doc);
+      }
+    }
+
+    /** Drops the retired documents and renumbers the live ones, keeping their order. */
+    void compact() {
+      int[] remap = new int[size];
+      int kept = 0;
+      for (int doc = 0; doc < size; doc++) {
+        if (!live.get(doc)) {
+          remap[doc] = -1;
+          continue;
+        }
+        remap[doc] = kept;
+        ids[kept] = ids[doc];
+        days[kept] = days[doc];
+        types[kept] = types[doc];
+        categories[kept] = categories[doc];
+        accountTypes[kept] = accountTypes[doc];
+        kept++;
+      }
+      int capacity = Math.max(1024, kept);
+      ids = Arrays.copyOf(ids, capacity);
+      days = Arrays.copyOf(days, capacity);
+      types = Arrays.copyOf(types, capacity);
+      categories = Arrays.copyOf(categories, capacity);
+      accountTypes = Arrays.copyOf(accountTypes, capacity);
+      size = kept;
+      live.clear();
+      live.set(0, kept);
+      byId = new LongIntMap();
+      for (int doc = 0; doc < kept; doc++) {
+        byId.put(ids[doc], doc);
+      }
+      dictionary.values().removeIf(postings -> postings.remap(remap) == 0);
+    }
+
+    Hits search(Set<String> words, Filter filter, int offset, int limit) {
+      List<Term> terms = new ArrayList<>();
+      for (String word : words) {
+        Term term = new Term(List.copyOf(
+            dictionary.subMap(word, true, word + Character.MAX_VALUE, false).values()),
+            dictionary.get(word));
+        if (term.frequency() == 0) {
+          return new Hits(List.of(), false);
+        }
+        terms.add(term);
+      }
+      // start from the rarest word so that common ones only have to be probed
+      terms.sort(Comparator.comparingInt(Term::frequency));
+
+      BitSet matches = new BitSet(size);
+      terms.get(0).addTo(matches);
+      matches.and(live);
+      for (Term term : terms.subList(1, terms.size())) {
+        int candidates = matches.cardinality();
+        if (term.postings().size() <= MAX_PROBED_WORDS
+            && term.frequency() > PROBE_RATIO * candidates) {
+          for (int doc = matches.nextSetBit(0); doc >= 0; doc = matches.nextSetBit(doc + 1)) {
+            if (!term.contains(doc)) {
+              matches.clear(doc);
+            }
+          }
+        } else {
+          BitSet any = new BitSet(size);
+          term.addTo(any);
+          matches.and(any);
+        }
+        if (matches.isEmpty()) {
+          return new Hits(List.of(), false);
+        }
+      }
+
+      // rarer words count for more; both counts include retired documents
+      double[] weights = new double[terms.size()];
+      for (int t = 0; t < weights.length; t++) {
+        weights[t] = Math.log(1 + (double) size / terms.get(t).frequency());
+      }
+
+      // the best offset + limit + 1 so far, worst at the head
+      Comparator<Hit> best = Comparator.comparingDouble(Hit::score)
+          .thenComparingLong(hit -> days[hit.doc()])
+          .thenComparingLong(hit -> ids[hit.doc()]);
+      int wanted = offset + limit + 1;
+      PriorityQueue<Hit> top = new PriorityQueue<>(best);
+      for (int doc = matches.nextSetBit(0); doc >= 0; doc = matches.nextSetBit(doc + 1)) {
+        if (!filter.matches(this, doc)) {
+          continue;
+        }
+        double score = 0;
+        for (int t = 0; t < weights.length; t++) {
+          score += weights[t] * (terms.get(t).isExact(doc) ? 1 : PREFIX_WEIGHT);
+        }
+        Hit hit = new Hit(doc, score);
+        if (top.size() < wanted) {
+          top.add(hit);
+        } else if (best.compare(hit, top.peek()) > 0) {
+          top.poll();
+          top.add(hit);
+        }
+      }
+
+      List<Hit> ranked = new ArrayList<>(top);
+      ranked.sort(best.reversed());
+      boolean hasNext = ranked.size() > offset + limit;
+      List<Long> page = ranked.stream()
+          .skip(offset)
+          .limit(limit)
+          .map(hit -> ids[hit.doc()])
+          .toList();
+      return new Hits(page, hasNext);
+    }
+  }
+
+  private record Hit(int doc, double score) {
+  }
+
+  /** The postings of every dictionary word a query word is a prefix of. */
+  private record Term(List<Postings> postings, Postings exact, int frequency) {
+
+    Term(List<Postings> postings, Postings exact) {
+      this(postings, exact, postings.stream().mapToInt(p -> p.size).sum());
+    }
+
+    void addTo(BitSet bits) {
+      for (Postings list : postings) {
+        list.addTo(bits);
+      }
+    }
+
+    boolean contains(int doc) {
+      for (Postings list : postings) {
+        if (list.contains(doc)) {
+          return true;
+        }
+      }
+      return false;
+    }
+
+    boolean isExact(int doc) {
+      return exact != null && exact.contains(doc);
+    }
+  }
+
+  /** Ascending document numbers containing one word. */
+  private static final class Postings {
+
+    int[] docs = new int[2];
+    int size;
+
+    void add(int doc) {
+      if (size == docs.length) {
+        docs = Arrays.copyOf(docs, size * 2);
+      }
+      docs[size++] = doc;
+    }
+
+    void addTo(BitSet bits) {
+      for (int i = 0; i < size; i++) {
+        bits.set(docs[i]);
+      }
+    }
+
+    boolean contains(int doc) {
+      return Arrays.binarySearch(docs, 0, size, doc) >= 0;
+    }
+
+    /** Renumbers the documents, dropping those mapped to -1; returns the new size. */
+    int remap(int[] remap) {
+      int kept = 0;
+      for (int i = 0; i < size; i++) {
+        int doc = remap[docs[i]];
+        if (doc >= 0) {
+          docs[kept++] = doc;
+        }
+      }
+      size = kept;
+      if (docs.length > 2 * Math.max(kept, 1)) {
+        docs = Arrays.copyOf(docs, Math.max(kept, 2));
+      }
+      return kept;
+    }
+  }
+}
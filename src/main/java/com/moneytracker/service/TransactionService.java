@@ -1,117 +1,456 @@
 package com.moneytracker.service;
 
+import com.moneytracker.config.CacheConfig;
+import com.moneytracker.model.AccountType;
 import com.moneytracker.model.Category;
 import com.moneytracker.model.ListTransactionRequest;
 import com.moneytracker.model.ListTransactionResponse;
 import com.moneytracker.model.Transaction;
+import com.moneytracker.model.TransactionDailyBalance;
+import com.moneytracker.model.TransactionPage;
 import com.moneytracker.model.TransactionSummary;
 import com.moneytracker.model.TransactionType;
+import com.moneytracker.model.TransactionTypeTotal;
 import com.moneytracker.repository.TransactionRepository;
+import com.moneytracker.repository.TransactionSpecifications;
+import io.micrometer.core.annotation.Timed;
 import java.math.BigDecimal;
 import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
 import java.util.Optional;
+import java.util.function.Function;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.annotation.CacheEvict;
+import org.springframework.cache.annotation.CachePut;
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.SliceImpl;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
 
 @Service
 @Transactional
+@Timed(value = "transaction.service", description = "TransactionService calls",
+    percentiles = {0.5, 0.95, 0.99}, histogram = true)
 public class TransactionService {
 
+  static final int DEFAULT_PAGE_SIZE = 50;
+  static final int MAX_PAGE_SIZE = 500;
+
+  private static final Sort KEYSET_ORDER = Sort.by(Sort.Order.desc("date"), Sort.Order.desc("id"));
+  static final Comparator<Transaction> KEYSET_COMPARATOR = TransactionArchive.NEWEST_FIRST;
+
+  /** Deepest row a merged page may start at; both tiers are read up to the end of the page. */
+  static final int MAX_MERGED_OFFSET = 10_000;
+
+  /** Ascending order of every property a page may be sorted by, nulls first. */
+  private static final Map<String, Comparator<Transaction>> SORTABLE = Map.of(
+      "id", ascending(Transaction::getId),
+      "description", ascending(Transaction::getDescription),
+      "amount", ascending(Transaction::getAmount),
+      "type", ascending(Transaction::getType),
+      "category", ascending(Transaction::getCategory),
+      "accountType", ascending(Transaction::getAccountType),
+      "date", ascending(Transaction::getDate),
+      "createdAt", ascending(Transaction::getCreatedAt),
+      "updatedAt", ascending(Transaction::getUpdatedAt),
+      "version", ascending(Transaction::getVersion));
+
   private final TransactionRepository transactionRepository;
+  private final TransactionValidator transactionValidator;
+  private final TransactionTotals transactionTotals;
+  private final TransactionDailyTotals transactionDailyTotals;
+  private final TransactionSearchIndex transactionSearchIndex;
+  private final TransactionArchive transactionArchive;
+  private final ApplicationEventPublisher eventPublisher;
+  private final CacheManager cacheManager;
+  private final TransactionMetrics transactionMetrics;
+  private final ObjectProvider<TransactionColumnIndex> transactionColumnIndex;
 
-  public TransactionService(TransactionRepository transactionRepository) {
+  public TransactionService(TransactionRepository transactionRepository,
+      TransactionValidator transactionValidator, TransactionTotals transactionTotals,
+      TransactionDailyTotals transactionDailyTotals, TransactionSearchIndex transactionSearchIndex,
+      TransactionArchive transactionArchive, ApplicationEventPublisher eventPublisher, CacheManager cacheManager,
+      TransactionMetrics transactionMetrics,
+      ObjectProvider<TransactionColumnIndex> transactionColumnIndex) {
     this.transactionRepository = transactionRepository;
+    this.transactionValidator = transactionValidator;
+    this.transactionTotals = transactionTotals;
+    this.transactionDailyTotals = transactionDailyTotals;
+    this.transactionSearchIndex = transactionSearchIndex;
+    this.transactionArchive = transactionArchive;
+    this.eventPublisher = eventPublisher;
+    this.cacheManager = cacheManager;
+    this.transactionMetrics = transactionMetrics;
+    this.transactionColumnIndex = transactionColumnIndex;
   }
 
   @Transactional(readOnly = true)
   public List<Transaction> getAllTransactions() {
-    return transactionRepository.findAll();
+    return transactionMetrics.rowsLoaded("getAllTransactions",
+        withArchived(transactionRepository.findAll(), TransactionArchive.Filter.ALL));
   }
 
+  @Transactional(readOnly = true)
   public ListTransactionResponse listTransactions(ListTransactionRequest request) {
-    return new ListTransactionResponse(transactionRepository.findAll());
+    int pageSize = request.getPageSize() == null ? DEFAULT_PAGE_SIZE
+        : Math.min(Math.max(request.getPageSize(), 1), MAX_PAGE_SIZE);
+
+    Specification<Transaction> spec = TransactionSpecifications.matching(request);
+    TransactionArchive.Filter archived = TransactionArchive.Filter.matching(request);
+    if (request.getCursor() != null && !request.getCursor().isBlank()) {
+      TransactionCursor cursor = TransactionCursor.decode(request.getCursor());
+      spec = spec.and(TransactionSpecifications.before(cursor.getDate(), cursor.getId()));
+      archived = archived.before(cursor.getDate(), cursor.getId());
+    }
+
+    // fetch one extra row to learn whether another page exists without a COUNT query
+    List<Transaction> rows = transactionRepository.findBy(spec,
+        query -> query.sortBy(KEYSET_ORDER).limit(pageSize + 1).all());
+    if (!transactionArchive.isEmpty()) {
+      rows = new ArrayList<>(rows);
+      rows.addAll(transactionArchive.find(archived, KEYSET_COMPARATOR, pageSize + 1));
+      rows.sort(KEYSET_COMPARATOR);
+    }
+    transactionMetrics.rowsLoaded("listTransactions", rows);
+    if (rows.size() <= pageSize) {
+      return new ListTransactionResponse(rows, null);
+    }
+    List<Transaction> page = rows.subList(0, pageSize);
+    return new ListTransactionResponse(new ArrayList<>(page),
+        TransactionCursor.after(page.get(pageSize - 1)).encode());
   }
 
 
+  /**
+   * Transactions whose description contains every word of {@code query} (as a word or the
+   * start of one), narrowed by the optional filters. Matching and ranking happen in
+   * {@link TransactionSearchIndex}; only the rows of the requested page are loaded, by id.
+   *
+   * @throws IllegalArgumentException if the page starts beyond
+   *     {@link TransactionSearchIndex#MAX_OFFSET}
+   */
   @Transactional(readOnly = true)
+  public TransactionPage searchTransactions(String query, TransactionType type,
+      Category category, AccountType accountType, LocalDate from, LocalDate to,
+      Pageable pageable) {
+    if (pageable.getOffset() > TransactionSearchIndex.MAX_OFFSET) {
+      throw new IllegalArgumentException(
+          "Search results can only be paged up to offset " + TransactionSearchIndex.MAX_OFFSET);
+    }
+    TransactionSearchIndex.Hits hits = transactionSearchIndex.search(query, type, category,
+        accountType, from, to, (int) pageable.getOffset(), pageable.getPageSize());
+
+    Map<Long, Transaction> byId = new HashMap<>();
+    for (Transaction transaction : transactionRepository.findAllById(hits.ids())) {
+      byId.put(transaction.getId(), transaction);
+    }
+    // a hit deleted since the search ran is simply left out
+    List<Transaction> page = hits.ids().stream()
+        .map(id -> byId.containsKey(id) ? byId.get(id)
+            : transactionArchive.findById(id).orElse(null))
+        .filter(Objects::nonNull)
+        .toList();
+    return new TransactionPage(transactionMetrics.rowsLoaded("searchTransactions", page),
+        pageable.getPageNumber(), pageable.getPageSize(), hits.hasNext());
+  }
+
+  @Transactional(readOnly = true)
+  @Cacheable(cacheNames = CacheConfig.TRANSACTIONS, key = "#id", unless = "#result == null")
   public Optional<Transaction> getTransactionById(long id) {
-    return transactionRepository.findById(id);
+    return transactionRepository.findById(id).or(() -> transactionArchive.findById(id));
   }
 
   public Transaction createTransaction(Transaction transaction) {
-    // validate user inputs
-    if (transaction.getDescription().isBlank()) {
-      throw new RuntimeException("Trxn description cant be blank");
-    }
-    if (transaction.getAmount().compareTo(BigDecimal.ZERO) <= 0
-        || transaction.getAmount().compareTo(new BigDecimal("10000000")) > 0) {
-      throw new IllegalArgumentException("can't be less than zero and greater than 1Cr");
-    }
-    if (transaction.getType() == null) {
-      throw new RuntimeException("Trxn Type can't be null");
-    }
-    if(transaction.getCategory() == null) {
-      throw new RuntimeException("Category can't be empty");
-    }
-    if(transaction.getAccountType() == null){
-      throw new RuntimeException("provide account type");
-    }
-    if(transaction.getDate() == null || transaction.getDate().isAfter(LocalDate.now())){
-      throw new RuntimeException("Date can't be empty or in future");
+    try {
+      transactionValidator.validate(transaction);
+    } catch (InvalidTransactionException e) {
+      transactionMetrics.rejected(e);
+      throw e;
     }
 
-    return transactionRepository.save(transaction);
+    Transaction saved = transactionRepository.save(transaction);
+    eventPublisher.publishEvent(TransactionChangedEvent.created(saved));
+    return saved;
   }
+
+  /**
+   * Applies the new description, amount, type and category with one versioned UPDATE. The row
+   * as it was before (needed by the change event) comes from the transactions cache when the
+   * cached copy is at the expected version and is read from the database only otherwise. A
+   * version on {@code updatedTransaction} makes the update conditional on that version.
+   *
+   * @throws OptimisticLockingFailureException if the row changed since the expected version
+   */
+  @CachePut(cacheNames = CacheConfig.TRANSACTIONS, key = "#id", unless = "#result == null")
   public Optional<Transaction> updateTransaction(Long id, Transaction updatedTransaction) {
-    Optional<Transaction> existingTransaction = transactionRepository.findById(id);
+    Long expectedVersion = updatedTransaction.getVersion();
 
-    if (existingTransaction.isPresent()) {
-      Transaction transaction = existingTransaction.get();
-      transaction.setDescription(updatedTransaction.getDescription());
-      transaction.setAmount(updatedTransaction.getAmount());
-      transaction.setType(updatedTransaction.getType());
-      transaction.setCategory(updatedTransaction.getCategory());
+    Transaction cached = cachedTransaction(id);
+    if (cached != null
+        && (expectedVersion == null || expectedVersion.equals(cached.getVersion()))) {
+      Optional<Transaction> updated = applyUpdate(cached, updatedTransaction);
+      if (updated.isPresent()) {
+        return updated;
+      }
+      // the cached copy was stale, fall back to the database
+    }
 
-      return Optional.of(transactionRepository.save(transaction));
+    Optional<Transaction> existingTransaction = transactionRepository.findById(id);
+    if (existingTransaction.isEmpty()) {
+      rejectIfArchived(id);
+      return Optional.empty();
+    }
+    Transaction before = TransactionChangedEvent.copyOf(existingTransaction.get());
+    if (expectedVersion != null && !expectedVersion.equals(before.getVersion())) {
+      throw concurrentModification(id);
     }
-    return Optional.empty();
+    return Optional.of(applyUpdate(before, updatedTransaction)
+        .orElseThrow(() -> concurrentModification(id)));
   }
 
+  /**
+   * Deletes with one versioned DELETE when the row is cached, otherwise reads it first; either
+   * way the deleted row is known for the change event without an extra existence check.
+   */
+  @CacheEvict(cacheNames = CacheConfig.TRANSACTIONS, key = "#id")
   public boolean deleteTransaction(Long id) {
-    if (transactionRepository.existsById(id)) {
-      transactionRepository.deleteById(id);
+    Transaction cached = cachedTransaction(id);
+    if (cached != null && transactionRepository.deleteIfVersion(id, cached.getVersion()) == 1) {
+      eventPublisher.publishEvent(TransactionChangedEvent.deleted(cached));
       return true;
     }
-    return false;
+
+    Optional<Transaction> existingTransaction = transactionRepository.findById(id);
+    if (existingTransaction.isEmpty()) {
+      rejectIfArchived(id);
+      return false;
+    }
+    Transaction before = TransactionChangedEvent.copyOf(existingTransaction.get());
+    if (transactionRepository.deleteIfVersion(id, before.getVersion()) == 0) {
+      throw concurrentModification(id);
+    }
+    eventPublisher.publishEvent(TransactionChangedEvent.deleted(before));
+    return true;
+  }
+
+  private Optional<Transaction> applyUpdate(Transaction before, Transaction changes) {
+    LocalDateTime now = LocalDateTime.now();
+    int updated = transactionRepository.updateIfVersion(before.getId(), before.getVersion(),
+        changes.getDescription(), changes.getAmount(), changes.getType(), changes.getCategory(),
+        now);
+    if (updated == 0) {
+      return Optional.empty();
+    }
+
+    Transaction after = TransactionChangedEvent.copyOf(before);
+    after.setDescription(changes.getDescription());
+    after.setAmount(changes.getAmount());
+    after.setType(changes.getType());
+    after.setCategory(changes.getCategory());
+    after.setUpdatedAt(now);
+    after.setVersion(before.getVersion() + 1);
+    eventPublisher.publishEvent(TransactionChangedEvent.updated(before, after));
+    return Optional.of(after);
+  }
+
+  private void rejectIfArchived(long id) {
+    if (transactionArchive.contains(id)) {
+      throw new ArchivedTransactionException(id);
+    }
+  }
+
+  private Transaction cachedTransaction(long id) {
+    Cache cache = cacheManager.getCache(CacheConfig.TRANSACTIONS);
+    return cache == null ? null : cache.get(id, Transaction.class);
+  }
+
+  private static OptimisticLockingFailureException concurrentModification(long id) {
+    return new OptimisticLockingFailureException(
+        "Transaction " + id + " was modified concurrently");
   }
 
   @Transactional(readOnly = true)
   public TransactionSummary getTransactionSummary() {
-    List<Transaction> transactions = transactionRepository.findAll();
-    
-    BigDecimal totalIncome = transactions.stream()
-        .filter(t -> t.getType() == TransactionType.INCOME)
-        .map(Transaction::getAmount)
-        .reduce(BigDecimal.ZERO, BigDecimal::add);
-
-    BigDecimal totalExpense = transactions.stream()
-        .filter(t -> t.getType() == TransactionType.EXPENSE)
-        .map(Transaction::getAmount)
-        .reduce(BigDecimal.ZERO, BigDecimal::add);
+    return getTransactionSummary(null, null, null, null);
+  }
+
+  /**
+   * Totals for the transactions matching the given filters; any filter may be null. Unfiltered,
+   * per-category and per-account-type summaries come straight from {@link TransactionTotals};
+   * other combinations are scanned from the {@link TransactionColumnIndex} when it is enabled
+   * and computed by a single grouped query plus a scan of the {@link TransactionArchive}
+   * otherwise, so no entities are loaded.
+   */
+  @Transactional(readOnly = true)
+  public TransactionSummary getTransactionSummary(LocalDate from, LocalDate to, Category category,
+      AccountType accountType) {
+    if (from == null && to == null) {
+      if (category == null && accountType == null) {
+        return transactionTotals.overall();
+      }
+      if (accountType == null) {
+        return transactionTotals.forCategory(category);
+      }
+      if (category == null) {
+        return transactionTotals.forAccountType(accountType);
+      }
+    }
+
+    TransactionColumnIndex columnIndex = transactionColumnIndex.getIfAvailable();
+    if (columnIndex != null) {
+      return columnIndex.summary(from, to, category, accountType);
+    }
+    List<TransactionTypeTotal> totals =
+        new ArrayList<>(transactionRepository.sumByType(from, to, category, accountType));
+    totals.addAll(transactionArchive.sumByType(
+        TransactionArchive.Filter.of(from, to, category, accountType)));
+    return summarize(totals);
+  }
+
+  /**
+   * Totals for a date range, either bound optional, from the per-day prefix sums in
+   * {@link TransactionDailyTotals}: O(log n) in the number of days, whatever the row count. No
+   * database transaction is opened, so no connection is borrowed.
+   */
+  @Transactional(propagation = Propagation.NOT_SUPPORTED)
+  public TransactionSummary getTransactionSummaryForRange(LocalDate from, LocalDate to) {
+    return transactionDailyTotals.between(from, to);
+  }
+
+  @Transactional(propagation = Propagation.NOT_SUPPORTED)
+  public List<TransactionDailyBalance> getRunningBalance(LocalDate from, LocalDate to) {
+    return transactionDailyTotals.runningBalance(from, to);
+  }
+
+  static TransactionSummary summarize(Iterable<? extends TransactionTypeTotal> totals) {
+    BigDecimal totalIncome = BigDecimal.ZERO;
+    BigDecimal totalExpense = BigDecimal.ZERO;
+    long count = 0;
+
+    for (TransactionTypeTotal total : totals) {
+      if (total.getType() == TransactionType.INCOME) {
+        totalIncome = totalIncome.add(total.getTotal());
+      } else {
+        totalExpense = totalExpense.add(total.getTotal());
+      }
+      count += total.getCount();
+    }
 
     BigDecimal balance = totalIncome.subtract(totalExpense);
 
-    return new TransactionSummary(totalIncome, totalExpense, balance, transactions.size());
+    return new TransactionSummary(totalIncome, totalExpense, balance, Math.toIntExact(count));
   }
 
   @Transactional(readOnly = true)
+  @Cacheable(cacheNames = CacheConfig.TRANSACTIONS_BY_TYPE, key = "@transactionResultKeys.of(#type)")
   public List<Transaction> getTransactionsByType(TransactionType type) {
-    return transactionRepository.findByType(type);
+    return transactionMetrics.rowsLoaded("getTransactionsByType",
+        withArchived(transactionRepository.findByType(type), TransactionArchive.Filter.of(type)));
   }
 
   @Transactional(readOnly = true)
+  @Cacheable(cacheNames = CacheConfig.TRANSACTIONS_BY_CATEGORY, key = "@transactionResultKeys.of(#category)")
   public List<Transaction> getTransactionsByCategory(Category category) {
-    return transactionRepository.findByCategory(category);
+    return transactionMetrics.rowsLoaded("getTransactionsByCategory",
+        withArchived(transactionRepository.findByCategory(category),
+            TransactionArchive.Filter.of(category)));
+  }
+
+  @Transactional(readOnly = true)
+  @Cacheable(cacheNames = CacheConfig.TRANSACTIONS_BY_TYPE, key = "@transactionResultKeys.of(#type, #pageable)")
+  public Slice<Transaction> getTransactionsByType(TransactionType type, Pageable pageable) {
+    return transactionMetrics.rowsLoaded("getTransactionsByTypePage",
+        withArchived(pageable, TransactionArchive.Filter.of(type),
+            page -> transactionRepository.findByType(type, page)));
+  }
+
+  @Transactional(readOnly = true)
+  @Cacheable(cacheNames = CacheConfig.TRANSACTIONS_BY_CATEGORY, key = "@transactionResultKeys.of(#category, #pageable)")
+  public Slice<Transaction> getTransactionsByCategory(Category category, Pageable pageable) {
+    return transactionMetrics.rowsLoaded("getTransactionsByCategoryPage",
+        withArchived(pageable, TransactionArchive.Filter.of(category),
+            page -> transactionRepository.findByCategory(category, page)));
+  }
+
+  private List<Transaction> withArchived(List<Transaction> live,
+      TransactionArchive.Filter filter) {
+    if (transactionArchive.isEmpty()) {
+      return live;
+    }
+    List<Transaction> rows = new ArrayList<>(live);
+    rows.addAll(transactionArchive.find(filter, null, Integer.MAX_VALUE));
+    return rows;
+  }
+
+  /**
+   * One page of the live rows merged with the archived ones. Both tiers are read up to the end
+   * of the page and merged in the requested order, so deep pages cost more than they do on the
+   * table alone. Sorted newest first, the archive reads only the segments that can reach the
+   * page; any other sort scans every archived row of the filter (see
+   * {@link TransactionArchive#find}). A sort that does not name {@code id} gets it as a last
+   * key, so that rows with equal values keep their place from one page to the next. While the
+   * archive is empty the page comes from the table alone, at any depth.
+   *
+   * @throws IllegalArgumentException if the archive has rows and the page starts beyond
+   *     {@link #MAX_MERGED_OFFSET} or is sorted by an unknown property
+   */
+  private Slice<Transaction> withArchived(Pageable pageable, TransactionArchive.Filter filter,
+      Function<Pageable, Slice<Transaction>> live) {
+    if (pageable.getSort().getOrderFor("id") == null) {
+      pageable = PageRequest.of(pageable.getPageNumber(), pageable.getPageSize(),
+          pageable.getSort().and(Sort.by("id")));
+    }
+    if (transactionArchive.isEmpty()) {
+      return live.apply(pageable);
+    }
+    if (pageable.getOffset() > MAX_MERGED_OFFSET) {
+      throw new IllegalArgumentException("Pages may not start beyond row " + MAX_MERGED_OFFSET);
+    }
+    int offset = (int) pageable.getOffset();
+    int end = offset + pageable.getPageSize();
+    // the default sort maps to the archive's own newest-first order, which skips old segments
+    Comparator<Transaction> order = pageable.getSort().equals(KEYSET_ORDER) ? KEYSET_COMPARATOR
+        : comparator(pageable.getSort());
+    List<Transaction> rows = new ArrayList<>(
+        live.apply(PageRequest.of(0, end + 1, pageable.getSort())).getContent());
+    rows.addAll(transactionArchive.find(filter, order, end + 1));
+    rows.sort(order);
+    List<Transaction> page = rows.subList(Math.min(offset, rows.size()),
+        Math.min(end, rows.size()));
+    return new SliceImpl<>(new ArrayList<>(page), pageable, rows.size() > end);
+  }
+
+  /** {@code sort} applied to loaded transactions, ties broken by id. */
+  private static Comparator<Transaction> comparator(Sort sort) {
+    Comparator<Transaction> order = (a, b) -> 0;
+    for (Sort.Order property : sort) {
+      Comparator<Transaction> byProperty = SORTABLE.get(property.getProperty());
+      if (byProperty == null) {
+        throw new IllegalArgumentException("Cannot sort by " + property.getProperty());
+      }
+      order = order.thenComparing(property.isAscending() ? byProperty : byProperty.reversed());
+    }
+    return order.thenComparing(Transaction::getId);
+  }
+
+  private static <T extends Comparable<? super T>> Comparator<Transaction> ascending(
+      Function<Transaction, T> property) {
+    return Comparator.comparing(property, Comparator.nullsFirst(Comparator.naturalOrder()));
   }
 }
@@ -0,0 +1,169 @@
+package com.moneytracker.service;
+
+import com.moneytracker.model.AccountType;
+import com.moneytracker.model.Category;
+import com.moneytracker.model.Money;
+import com.moneytracker.model.Transaction;
+import com.moneytracker.model.TransactionGroupTotal;
+import com.moneytracker.model.TransactionSummary;
+import com.moneytracker.model.TransactionType;
+import com.moneytracker.repository.TransactionRepository;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+/**
+ * Running income/expense totals for the whole ledger, per category and per account type.
+ *
+ * <p>Every write in {@link TransactionService} publishes a {@link TransactionChangedEvent};
+ * the delta is applied once that transaction commits, so rolled back writes never reach the
+ * totals. {@link #rebuild()} recomputes everything from the transactions table and runs once
+ * before the application starts serving requests.
+ */
+@Component
+public class TransactionTotals implements SmartInitializingSingleton {
+
+  private static final Logger log = LoggerFactory.getLogger(TransactionTotals.class);
+
+  private final TransactionRepository transactionRepository;
+  private final TransactionArchive transactionArchive;
+  private final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+  private Totals overall = new Totals();
+  private Map<Category, Totals> byCategory = new EnumMap<>(Category.class);
+  private Map<AccountType, Totals> byAccountType = new EnumMap<>(AccountType.class);
+
+  public TransactionTotals(TransactionRepository transactionRepository,
+      TransactionArchive transactionArchive) {
+    this.transactionRepository = transactionRepository;
+    this.transactionArchive = transactionArchive;
+  }
+
+  @Override
+  public void afterSingletonsInstantiated() {
+    rebuild();
+  }
+
+  public TransactionSummary overall() {
+    lock.readLock().lock();
+    try {
+      return overall.toSummary();
+    } finally {
+      lock.readLock().unlock();
+    }
+  }
+
+  public TransactionSummary forCategory(Category category) {
+    lock.readLock().lock();
+    try {
+      return byCategory.getOrDefault(category, Totals.EMPTY).toSummary();
+    } finally {
+      lock.readLock().unlock();
+    }
+  }
+
+  public TransactionSummary forAccountType(AccountType accountType) {
+    lock.readLock().lock();
+    try {
+      return byAccountType.getOrDefault(accountType, Totals.EMPTY).toSummary();
+    } finally {
+      lock.readLock().unlock();
+    }
+  }
+
+  @TransactionalEventListener
+  @Order(TransactionChangeLog.STATE_LISTENER_ORDER)
+  public void onTransactionChanged(TransactionChangedEvent event) {
+    lock.writeLock().lock();
+    try {
+      if (event.getBefore() != null) {
+        apply(event.getBefore(), -1);
+      }
+      if (event.getAfter() != null) {
+        apply(event.getAfter(), 1);
+      }
+    } finally {
+      lock.writeLock().unlock();
+    }
+  }
+
+  /**
+   * Replaces the totals with a fresh aggregate of the transactions table and the
+   * {@link TransactionArchive}. Writers wait while the query runs; a write that committed just
+   * before the rebuild started but had not yet applied its delta can still be counted twice, so
+   * schedule this for quiet periods.
+   */
+  public void rebuild() {
+    lock.writeLock().lock();
+    try {
+      Totals freshOverall = new Totals();
+      Map<Category, Totals> freshByCategory = new EnumMap<>(Category.class);
+      Map<AccountType, Totals> freshByAccountType = new EnumMap<>(AccountType.class);
+
+      for (TransactionGroupTotal row : transactionRepository.sumByTypeCategoryAndAccountType()) {
+        long cents = Money.toCents(row.getTotal());
+        freshOverall.add(row.getType(), cents, row.getCount());
+        freshByCategory.computeIfAbsent(row.getCategory(), c -> new Totals())
+            .add(row.getType(), cents, row.getCount());
+        freshByAccountType.computeIfAbsent(row.getAccountType(), a -> new Totals())
+            .add(row.getType(), cents, row.getCount());
+      }
+      transactionArchive.scan(TransactionArchive.Filter.ALL,
+          (id, day, cents, type, category, accountType) -> {
+            freshOverall.add(type, cents, 1);
+            freshByCategory.computeIfAbsent(category, c -> new Totals()).add(type, cents, 1);
+            freshByAccountType.computeIfAbsent(accountType, a -> new Totals()).add(type, cents, 1);
+          });
+
+      if (overall.count != freshOverall.count || overall.income != freshOverall.income
+          || overall.expense != freshOverall.expense) {
+        log.info("Running totals rebuilt: {} transactions (was {})", freshOverall.count,
+            overall.count);
+      }
+      overall = freshOverall;
+      byCategory = freshByCategory;
+      byAccountType = freshByAccountType;
+    } finally {
+      lock.writeLock().unlock();
+    }
+  }
+
+  private void apply(Transaction transaction, int sign) {
+    long cents = sign * Money.toCents(transaction.getAmount());
+    overall.add(transaction.getType(), cents, sign);
+    byCategory.computeIfAbsent(transaction.getCategory(), c -> new Totals())
+        .add(transaction.getType(), cents, sign);
+    byAccountType.computeIfAbsent(transaction.getAccountType(), a -> new Totals())
+        .add(transaction.getType(), cents, sign);
+  }
+
+  private static final class Totals {
+
+    static final Totals EMPTY = new Totals();
+
+    long income;
+    long expense;
+    long count;
+
+    void add(TransactionType type, long cents, long rows) {
+      if (type == TransactionType.INCOME) {
+        income = Money.add(income, cents);
+      } else {
+        expense = Money.add(expense, cents);
+      }
+      count += rows;
+    }
+
+    TransactionSummary toSummary() {
+      return new TransactionSummary(Money.fromCents(income), Money.fromCents(expense),
+          Money.fromCents(Money.subtract(income, expense)), Math.toIntExact(count));
+    }
+  }
+}
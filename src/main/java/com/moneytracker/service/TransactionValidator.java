@@ -0,0 +1,59 @@
+package com.moneytracker.service;
+
+import com.moneytracker.model.Money;
+import com.moneytracker.model.Transaction;
+import com.moneytracker.service.InvalidTransactionException.Reason;
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import org.springframework.stereotype.Component;
+
+/**
+ * Business rules every new transaction has to satisfy, shared by single and bulk creation.
+ * Every failed rule throws an {@link InvalidTransactionException}.
+ */
+@Component
+public class TransactionValidator {
+
+  /** 1 Cr, in cents. */
+  private static final long MAX_AMOUNT_CENTS = 10_000_000_00L;
+
+  public void validate(Transaction transaction) {
+    if (transaction.getDescription() == null || transaction.getDescription().isBlank()) {
+      throw new InvalidTransactionException(Reason.DESCRIPTION, "Trxn description cant be blank");
+    }
+    long cents = amountInCents(transaction.getAmount());
+    if (cents <= 0 || cents > MAX_AMOUNT_CENTS) {
+      throw invalidAmount();
+    }
+    if (transaction.getType() == null) {
+      throw new InvalidTransactionException(Reason.TYPE, "Trxn Type can't be null");
+    }
+    if(transaction.getCategory() == null) {
+      throw new InvalidTransactionException(Reason.CATEGORY, "Category can't be empty");
+    }
+    if(transaction.getAccountType() == null){
+      throw new InvalidTransactionException(Reason.ACCOUNT_TYPE, "provide account type");
+    }
+    if(transaction.getDate() == null || transaction.getDate().isAfter(LocalDate.now())){
+      throw new InvalidTransactionException(Reason.DATE, "Date can't be empty or in future");
+    }
+  }
+
+  private static InvalidTransactionException invalidAmount() {
+    return new InvalidTransactionException(Reason.AMOUNT,
+        "can't be less than zero and greater than 1Cr");
+  }
+
+  private static long amountInCents(BigDecimal amount) {
+    if (amount == null) {
+      throw invalidAmount();
+    }
+    try {
+      return Money.toCents(amount);
+    } catch (ArithmeticException e) {
+      throw invalidAmount();
+    } catch (IllegalArgumentException e) {
+      throw new InvalidTransactionException(Reason.AMOUNT, e.getMessage());
+    }
+  }
+}
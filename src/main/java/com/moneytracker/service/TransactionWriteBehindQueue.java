@@ -0,0 +1,267 @@
+package com.moneytracker.service;
+
+import com.moneytracker.model.Transaction;
+import com.moneytracker.repository.TransactionBatchInserter;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * Group commit for single creates, enabled with
+ * {@code money-tracker.ingest.write-behind.enabled=true}. Validated transactions wait in a
+ * bounded queue; one writer thread takes whatever has queued up (at most {@code max-batch}
+ * rows, lingering up to {@code max-wait} for more), inserts it as one JDBC batch in one
+ * database transaction and only then completes the callers' futures, so an acknowledged row is
+ * exactly as durable as one created by {@link TransactionService#createTransaction}. Callers
+ * wait at most {@code offer-timeout} for room in a full queue before being rejected, and at most
+ * {@code commit-timeout} for their batch to commit; a row that times out there stays queued
+ * and may still be written. Rows still queued when the writer stops, for whatever reason, are
+ * failed rather than left waiting.
+ */
+@Service
+@ConditionalOnProperty(name = "money-tracker.ingest.write-behind.enabled", havingValue = "true")
+public class TransactionWriteBehindQueue implements SmartLifecycle {
+
+  private static final Logger log = LoggerFactory.getLogger(TransactionWriteBehindQueue.class);
+
+  private final TransactionBatchInserter batchInserter;
+  private final TransactionValidator transactionValidator;
+  private final ApplicationEventPublisher eventPublisher;
+  private final TransactionTemplate transactionTemplate;
+  private final TransactionMetrics transactionMetrics;
+  private final BlockingQueue<PendingWrite> queue;
+  private final int maxBatch;
+  private final long maxWaitNanos;
+  private final long offerTimeoutNanos;
+  private final long commitTimeoutNanos;
+
+  private volatile boolean running;
+  private volatile boolean writerExited;
+  private Thread writer;
+
+  public TransactionWriteBehindQueue(TransactionBatchInserter batchInserter,
+      TransactionValidator transactionValidator, ApplicationEventPublisher eventPublisher,
+      TransactionTemplate transactionTemplate, TransactionMetrics transactionMetrics,
+      @Value("${money-tracker.ingest.write-behind.queue-capacity:10000}") int queueCapacity,
+      @Value("${money-tracker.ingest.write-behind.max-batch:500}") int maxBatch,
+      @Value("${money-tracker.ingest.write-behind.max-wait:5ms}") Duration maxWait,
+      @Value("${money-tracker.ingest.write-behind.offer-timeout:100ms}") Duration offerTimeout,
+      @Value("${money-tracker.ingest.write-behind.commit-timeout:30s}") Duration commitTimeout) {
+    this.batchInserter = batchInserter;
+    this.transactionValidator = transactionValidator;
+    this.eventPublisher = eventPublisher;
+    this.transactionTemplate = transactionTemplate;
+    this.transactionMetrics = transactionMetrics;
+    this.queue = new ArrayBlockingQueue<>(queueCapacity);
+    this.maxBatch = maxBatch;
+    this.maxWaitNanos = maxWait.toNanos();
+    this.offerTimeoutNanos = offerTimeout.toNanos();
+    this.commitTimeoutNanos = commitTimeout.toNanos();
+  }
+
+  /**
+   * Validates and queues {@code transaction}. The future completes with the saved transaction
+   * once its batch has committed, or exceptionally if the row could not be inserted.
+   *
+   * @throws RejectedExecutionException if the queue stayed full for the offer timeout or the
+   *     writer has stopped
+   */
+  public CompletableFuture<Transaction> submit(Transaction transaction) {
+    try {
+      transactionValidator.validate(transaction);
+    } catch (InvalidTransactionException e) {
+      transactionMetrics.rejected(e);
+      throw e;
+    }
+
+    PendingWrite write = new PendingWrite(transaction, new CompletableFuture<>());
+    if (!running) {
+      throw new RejectedExecutionException("Transaction ingestion is shutting down");
+    }
+    try {
+      if (!queue.offer(write, offerTimeoutNanos, TimeUnit.NANOSECONDS)) {
+        throw new RejectedExecutionException("Transaction ingestion queue is full");
+      }
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      throw new RejectedExecutionException("Interrupted waiting for the ingestion queue", e);
+    }
+    // the writer may have exited between the running check and the offer; its final sweep
+    // fails whatever it finds, so only a row still in the queue has to be taken back here
+    if (writerExited && queue.remove(write)) {
+      throw new RejectedExecutionException("Transaction ingestion is shutting down");
+    }
+    return write.result();
+  }
+
+  /**
+   * Blocking form of {@link #submit}: returns once the transaction is committed. Must not be
+   * called inside a database transaction, which would hold a connection the writer may need.
+   *
+   * @throws RejectedExecutionException if the row was not accepted
+   * @throws TransactionNotConfirmedException if the row was accepted but did not commit within
+   *     the commit timeout; it may still be written later
+   */
+  public Transaction create(Transaction transaction) {
+    try {
+      return submit(transaction).get(commitTimeoutNanos, TimeUnit.NANOSECONDS);
+    } catch (TimeoutException e) {
+      throw new TransactionNotConfirmedException(
+          "Timed out waiting for the transaction to commit; it may still be written", e);
+    } catch (ExecutionException e) {
+      if (e.getCause() instanceof RuntimeException cause) {
+        throw cause;
+      }
+      throw new IllegalStateException(e.getCause());
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      throw new IllegalStateException("Interrupted waiting for the transaction to commit", e);
+    }
+  }
+
+  @Override
+  public void start() {
+    running = true;
+    writerExited = false;
+    writer = new Thread(this::drain, "transaction-write-behind");
+    writer.start();
+  }
+
+  /**
+   * Stops accepting new rows and returns once everything already queued is written.
+   */
+  @Override
+  public void stop() {
+    running = false;
+    if (writer == null) {
+      return;
+    }
+    try {
+      writer.join();
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+    }
+  }
+
+  @Override
+  public boolean isRunning() {
+    return running;
+  }
+
+  /**
+   * Starts before and stops after the web server, so no request is accepted that cannot be
+   * written.
+   */
+  @Override
+  public int getPhase() {
+    return SmartLifecycle.DEFAULT_PHASE - 4096;
+  }
+
+  private void drain() {
+    List<PendingWrite> batch = new ArrayList<>(maxBatch);
+    try {
+      while (running || !queue.isEmpty()) {
+        PendingWrite first;
+        try {
+          first = queue.poll(100, TimeUnit.MILLISECONDS);
+        } catch (InterruptedException e) {
+          // keep going: stop() ends the loop once the queue is empty
+          continue;
+        }
+        if (first == null) {
+          continue;
+        }
+        batch.add(first);
+        fill(batch);
+        write(batch);
+        batch.clear();
+      }
+    } catch (Error e) {
+      log.error("Write-behind writer died; rejecting queued transactions", e);
+      throw e;
+    } finally {
+      running = false;
+      writerExited = true;
+      queue.drainTo(batch);
+      RejectedExecutionException stopped =
+          new RejectedExecutionException("Transaction ingestion stopped");
+      // a no-op for rows that were already completed
+      batch.forEach(write -> write.result().completeExceptionally(stopped));
+    }
+  }
+
+  private void fill(List<PendingWrite> batch) {
+    long deadline = System.nanoTime() + maxWaitNanos;
+    while (batch.size() < maxBatch) {
+      queue.drainTo(batch, maxBatch - batch.size());
+      long remaining = deadline - System.nanoTime();
+      if (batch.size() >= maxBatch || remaining <= 0) {
+        return;
+      }
+      try {
+        PendingWrite next = queue.poll(remaining, TimeUnit.NANOSECONDS);
+        if (next == null) {
+          return;
+        }
+        batch.add(next);
+      } catch (InterruptedException e) {
+        return;
+      }
+    }
+  }
+
+  /**
+   * One transaction for the whole batch; if it fails, each row is retried on its own so one
+   * bad row only fails its own caller.
+   */
+  private void write(List<PendingWrite> batch) {
+    try {
+      insert(batch);
+      return;
+    } catch (RuntimeException e) {
+      if (batch.size() == 1) {
+        batch.get(0).result().completeExceptionally(e);
+        return;
+      }
+      log.warn("Group commit of {} transactions failed, retrying one by one", batch.size(), e);
+    }
+    for (PendingWrite write : batch) {
+      try {
+        insert(List.of(write));
+      } catch (RuntimeException e) {
+        write.result().completeExceptionally(e);
+      }
+    }
+  }
+
+  private void insert(List<PendingWrite> batch) {
+    List<Transaction> rows = batch.stream().map(PendingWrite::transaction).toList();
+    transactionTemplate.executeWithoutResult(status -> {
+      batchInserter.insert(rows);
+      for (Transaction transaction : rows) {
+        eventPublisher.publishEvent(TransactionChangedEvent.created(transaction));
+      }
+    });
+    for (PendingWrite write : batch) {
+      write.result().complete(write.transaction());
+    }
+  }
+
+  private record PendingWrite(Transaction transaction, CompletableFuture<Transaction> result) {
+  }
+}
@@ -0,0 +1,68 @@
+package com.moneytracker.config;
+
+import static org.hamcrest.Matchers.containsString;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import com.moneytracker.model.AccountType;
+import com.moneytracker.model.Category;
+import com.moneytracker.model.Transaction;
+import com.moneytracker.model.TransactionType;
+import com.moneytracker.repository.TransactionRepository;
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.stream.IntStream;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.cache.CacheManager;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+
+@SpringBootTest(properties = {
+    "money-tracker.query-budget.mode=REJECT",
+    "money-tracker.query-budget.max-entities=3"
+})
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+class QueryBudgetInterceptorTest {
+
+  @Autowired
+  private MockMvc mockMvc;
+
+  @Autowired
+  private TransactionRepository transactionRepository;
+
+  @Autowired
+  private CacheManager cacheManager;
+
+  @BeforeEach
+  void setUp() {
+    transactionRepository.deleteAll();
+    cacheManager.getCacheNames().forEach(name -> cacheManager.getCache(name).clear());
+    transactionRepository.saveAll(IntStream.range(0, 4)
+        .mapToObj(i -> new Transaction("Lunch " + i, new BigDecimal("12.00"),
+            TransactionType.EXPENSE, Category.FOOD, AccountType.CASH, LocalDate.EPOCH))
+        .toList());
+  }
+
+  @Test
+  void getAllTransactions_OverEntityBudget_ShouldFailNamingTheEndpoint() throws Exception {
+    mockMvc.perform(get("/api/transactions"))
+        .andExpect(status().isInternalServerError())
+        .andExpect(jsonPath("$.detail", containsString(
+            "GET /api/transactions (TransactionController#getAllTransactions)")))
+        .andExpect(jsonPath("$.detail", containsString("4 entities loaded (budget 3)")));
+  }
+
+  @Test
+  void getTransactionById_WithinBudget_ShouldSucceed() throws Exception {
+    Long id = transactionRepository.findAll().get(0).getId();
+
+    mockMvc.perform(get("/api/transactions/" + id))
+        .andExpect(status().isOk());
+  }
+}
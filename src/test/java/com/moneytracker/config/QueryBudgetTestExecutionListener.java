@@ -0,0 +1,27 @@
+package com.moneytracker.config;
+
+import java.util.List;
+import org.springframework.test.context.TestContext;
+import org.springframework.test.context.TestExecutionListener;
+
+/**
+ * Fails any Spring test whose requests went over the query budget while the interceptor runs
+ * in {@code FAIL} mode, as it does in the test profile.
+ */
+public class QueryBudgetTestExecutionListener implements TestExecutionListener {
+
+  @Override
+  public void afterTestMethod(TestContext testContext) {
+    if (!testContext.hasApplicationContext()) {
+      return;
+    }
+    List<String> violations = testContext.getApplicationContext()
+        .getBeanProvider(QueryBudgetInterceptor.class)
+        .stream()
+        .flatMap(interceptor -> interceptor.drainViolations().stream())
+        .toList();
+    if (!violations.isEmpty()) {
+      throw new AssertionError("Query budget exceeded:\n  " + String.join("\n  ", violations));
+    }
+  }
+}
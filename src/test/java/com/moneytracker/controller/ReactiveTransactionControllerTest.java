@@ -0,0 +1,156 @@
+package com.moneytracker.controller;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.moneytracker.model.AccountType;
+import com.moneytracker.model.Category;
+import com.moneytracker.model.ListTransactionRequest;
+import com.moneytracker.model.Transaction;
+import com.moneytracker.model.TransactionType;
+import com.moneytracker.repository.TransactionRepository;
+import com.moneytracker.service.TransactionTotals;
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.cache.CacheManager;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.RequestBuilder;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+class ReactiveTransactionControllerTest {
+
+  @Autowired
+  private MockMvc mockMvc;
+
+  @Autowired
+  private ObjectMapper objectMapper;
+
+  @Autowired
+  private TransactionRepository transactionRepository;
+
+  @Autowired
+  private TransactionTotals transactionTotals;
+
+  @Autowired
+  private CacheManager cacheManager;
+
+  private Transaction salary;
+
+  @BeforeEach
+  void setUp() {
+    transactionRepository.deleteAll();
+    cacheManager.getCacheNames().forEach(name -> cacheManager.getCache(name).clear());
+
+    salary = transactionRepository.save(new Transaction("Salary", new BigDecimal("5000.00"),
+        TransactionType.INCOME, Category.SALARY, AccountType.CASH, LocalDate.of(2024, 1, 31)));
+    transactionRepository.save(new Transaction("Grocery", new BigDecimal("150.50"),
+        TransactionType.EXPENSE, Category.FOOD, AccountType.BANK_TRANSFER,
+        LocalDate.of(2024, 2, 3)));
+    transactionRepository.save(new Transaction("Dinner", new BigDecimal("49.50"),
+        TransactionType.EXPENSE, Category.FOOD, AccountType.CASH, LocalDate.of(2024, 3, 9)));
+    transactionTotals.rebuild();
+  }
+
+  @Test
+  void listTransactions_ShouldStreamMatchingRowsNewestFirst() throws Exception {
+    ListTransactionRequest filter = new ListTransactionRequest();
+    filter.setCategory(Category.FOOD);
+
+    String[] lines = ndjson(post("/api/reactive/transactions/list")
+        .contentType(MediaType.APPLICATION_JSON)
+        .content(objectMapper.writeValueAsString(filter)));
+
+    assertEquals(2, lines.length);
+    assertEquals("Dinner", objectMapper.readTree(lines[0]).get("description").asText());
+    assertEquals("Grocery", objectMapper.readTree(lines[1]).get("description").asText());
+  }
+
+  @Test
+  void getTransactionById_WithValidId_ShouldReturnTransaction() throws Exception {
+    MvcResult result = mockMvc.perform(get("/api/reactive/transactions/{id}", salary.getId()))
+        .andExpect(request().asyncStarted())
+        .andReturn();
+
+    mockMvc.perform(asyncDispatch(result))
+        .andExpect(status().isOk())
+        .andExpect(jsonPath("$.description").value("Salary"))
+        .andExpect(jsonPath("$.amount").value(5000.00))
+        .andExpect(jsonPath("$.date").value("2024-01-31"));
+  }
+
+  @Test
+  void getTransactionById_WithInvalidId_ShouldReturnNotFound() throws Exception {
+    MvcResult result = mockMvc.perform(get("/api/reactive/transactions/999"))
+        .andExpect(request().asyncStarted())
+        .andReturn();
+
+    mockMvc.perform(asyncDispatch(result))
+        .andExpect(status().isNotFound());
+  }
+
+  @Test
+  void getTransactionsByType_ShouldStreamRowsOfThatType() throws Exception {
+    String[] lines = ndjson(get("/api/reactive/transactions/by-type/EXPENSE"));
+
+    assertEquals(2, lines.length);
+    for (String line : lines) {
+      assertEquals("EXPENSE", objectMapper.readTree(line).get("type").asText());
+    }
+  }
+
+  @Test
+  void getTransactionsByCategory_ShouldStreamRowsOfThatCategory() throws Exception {
+    assertEquals(1, ndjson(get("/api/reactive/transactions/by-category/SALARY")).length);
+    assertEquals(0, ndjson(get("/api/reactive/transactions/by-category/BILLS")).length);
+  }
+
+  @Test
+  void getTransactionSummary_WithDateRange_ShouldMatchBlockingSummary() throws Exception {
+    MvcResult result = mockMvc.perform(get("/api/reactive/transactions/summary")
+            .param("from", "2024-02-01")
+            .param("to", "2024-12-31"))
+        .andExpect(request().asyncStarted())
+        .andReturn();
+
+    mockMvc.perform(asyncDispatch(result))
+        .andExpect(status().isOk())
+        .andExpect(jsonPath("$.totalIncome").value(0))
+        .andExpect(jsonPath("$.totalExpense").value(200.00))
+        .andExpect(jsonPath("$.transactionCount").value(2));
+
+    mockMvc.perform(get("/api/transactions/summary")
+            .param("from", "2024-02-01")
+            .param("to", "2024-12-31"))
+        .andExpect(jsonPath("$.totalExpense").value(200.00))
+        .andExpect(jsonPath("$.transactionCount").value(2));
+  }
+
+  private String[] ndjson(RequestBuilder requestBuilder) throws Exception {
+    MvcResult result = mockMvc.perform(requestBuilder)
+        .andExpect(request().asyncStarted())
+        .andReturn();
+
+    String body = mockMvc.perform(asyncDispatch(result))
+        .andExpect(status().isOk())
+        .andExpect(content().contentType(MediaType.APPLICATION_NDJSON))
+        .andReturn().getResponse().getContentAsString();
+    return body.isEmpty() ? new String[0] : body.split("\n");
+  }
+}
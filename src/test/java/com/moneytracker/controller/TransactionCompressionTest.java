@@ -0,0 +1,58 @@
+package com.moneytracker.controller;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import com.moneytracker.model.AccountType;
+import com.moneytracker.model.Category;
+import com.moneytracker.model.Transaction;
+import com.moneytracker.model.TransactionType;
+import com.moneytracker.repository.TransactionRepository;
+import java.math.BigDecimal;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.LocalDate;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.http.HttpHeaders;
+import org.springframework.test.context.ActiveProfiles;
+
+/**
+ * Compression as Tomcat applies it, which MockMvc does not show. Runs on its own database so
+ * that the real server cannot affect the other tests.
+ */
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT, properties =
+    "spring.datasource.url=jdbc:h2:mem:compressiontest;DB_CLOSE_DELAY=-1;DB_CLOSE_ON_EXIT=FALSE")
+@ActiveProfiles("test")
+class TransactionCompressionTest {
+
+  @LocalServerPort
+  private int port;
+
+  @Autowired
+  private TransactionRepository transactionRepository;
+
+  @Test
+  void getAllTransactions_ShouldBeGzippedWithAWeakEtag() throws Exception {
+    for (int i = 0; i < 50; i++) {
+      transactionRepository.save(new Transaction("Groceries " + i, new BigDecimal("12.50"),
+          TransactionType.EXPENSE, Category.FOOD, AccountType.CASH, LocalDate.of(2024, 1, 1)));
+    }
+
+    // java.net.http does not decompress, so the encoding Tomcat chose is visible
+    HttpResponse<byte[]> response = HttpClient.newHttpClient().send(
+        HttpRequest.newBuilder(URI.create("http://localhost:" + port + "/api/transactions"))
+            .header(HttpHeaders.ACCEPT_ENCODING, "gzip")
+            .build(),
+        HttpResponse.BodyHandlers.ofByteArray());
+
+    assertEquals(200, response.statusCode());
+    assertEquals("gzip",
+        response.headers().firstValue(HttpHeaders.CONTENT_ENCODING).orElse(null));
+    assertTrue(response.headers().firstValue(HttpHeaders.ETAG).orElseThrow().startsWith("W/"));
+  }
+}
@@ -1,29 +1,61 @@
 package com.moneytracker.controller;
 
+import static org.hamcrest.Matchers.hasItem;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.delete;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
+import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.cbor.databind.CBORMapper;
+import com.fasterxml.jackson.dataformat.smile.databind.SmileMapper;
+import com.moneytracker.config.CacheConfig;
 import com.moneytracker.model.AccountType;
+import com.moneytracker.model.BulkMode;
+import com.moneytracker.model.BulkTransactionRequest;
 import com.moneytracker.model.Category;
+import com.moneytracker.model.ListTransactionRequest;
 import com.moneytracker.model.Transaction;
 import com.moneytracker.model.TransactionType;
+import com.moneytracker.model.TransactionChange;
+import com.moneytracker.model.TransactionChangeType;
+import com.moneytracker.repository.TransactionChangeRepository;
 import com.moneytracker.repository.TransactionRepository;
+import com.moneytracker.service.TransactionDailyTotals;
+import com.moneytracker.service.TransactionResultKeys;
+import com.moneytracker.service.TransactionSearchIndex;
+import com.moneytracker.service.TransactionTotals;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
 import java.math.BigDecimal;
 import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
 import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.MediaType;
 import org.springframework.test.context.ActiveProfiles;
 import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
 
 @SpringBootTest
 @AutoConfigureMockMvc
@@ -39,9 +71,31 @@ class TransactionControllerTest {
   @Autowired
   private TransactionRepository transactionRepository;
 
+  @Autowired
+  private TransactionTotals transactionTotals;
+
+  @Autowired
+  private TransactionDailyTotals transactionDailyTotals;
+
+  @Autowired
+  private TransactionSearchIndex transactionSearchIndex;
+
+  @Autowired
+  private TransactionChangeRepository transactionChangeRepository;
+
+  @Autowired
+  private CacheManager cacheManager;
+
+  @Autowired
+  private TransactionResultKeys resultKeys;
+
+  @Autowired
+  private MeterRegistry meterRegistry;
+
   @BeforeEach
   void setUp() {
     transactionRepository.deleteAll();
+    cacheManager.getCacheNames().forEach(name -> cacheManager.getCache(name).clear());
     
     Transaction t1 = new Transaction("Salary", new BigDecimal("5000.00"), TransactionType.INCOME, Category.SALARY,
         AccountType.CASH, LocalDate.EPOCH);
@@ -53,6 +107,10 @@ class TransactionControllerTest {
     transactionRepository.save(t2);
     transactionRepository.save(t3);
     transactionRepository.save(t4);
+    // seeded through the repository, so the running totals have to catch up explicitly
+    transactionTotals.rebuild();
+    transactionDailyTotals.rebuild();
+    transactionSearchIndex.rebuild();
   }
 
   @Test
@@ -64,6 +122,110 @@ class TransactionControllerTest {
         .andExpect(jsonPath("$.length()").value(4));
   }
 
+  @Test
+  void getAllTransactions_ShouldNegotiateBinaryFormatsWithTheirOwnEtags() throws Exception {
+    String jsonEtag = mockMvc.perform(get("/api/transactions"))
+        .andExpect(status().isOk())
+        .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+
+    MvcResult cbor = mockMvc.perform(get("/api/transactions").accept("application/cbor"))
+        .andExpect(status().isOk())
+        .andExpect(content().contentType("application/cbor"))
+        .andExpect(header().stringValues(HttpHeaders.VARY, hasItem("Accept")))
+        .andReturn();
+    JsonNode cborRows = new CBORMapper().readTree(cbor.getResponse().getContentAsByteArray());
+    assertEquals(4, cborRows.size());
+    assertEquals("1970-01-01", cborRows.get(0).get("date").asText());
+    assertNotEquals(jsonEtag, cbor.getResponse().getHeader(HttpHeaders.ETAG));
+
+    byte[] smile = mockMvc.perform(get("/api/transactions/by-category/FOOD")
+            .accept("application/x-jackson-smile"))
+        .andExpect(status().isOk())
+        .andExpect(content().contentType("application/x-jackson-smile"))
+        .andReturn().getResponse().getContentAsByteArray();
+    assertEquals("Grocery", new SmileMapper().readTree(smile).get(0).get("description").asText());
+  }
+
+  @Test
+  void exportTransactions_AsNdjson_ShouldStreamOneRowPerLine() throws Exception {
+    MvcResult result = mockMvc.perform(get("/api/transactions/export"))
+        .andExpect(request().asyncStarted())
+        .andReturn();
+
+    String body = mockMvc.perform(asyncDispatch(result))
+        .andExpect(status().isOk())
+        .andExpect(content().contentType("application/x-ndjson"))
+        .andReturn().getResponse().getContentAsString();
+
+    String[] lines = body.split("\n");
+    assertEquals(4, lines.length);
+    assertTrue(objectMapper.readTree(lines[0]).has("id"));
+  }
+
+  @Test
+  void exportTransactions_AsCsv_ShouldWriteHeaderAndRows() throws Exception {
+    MvcResult result = mockMvc.perform(get("/api/transactions/export").param("format", "CSV"))
+        .andExpect(request().asyncStarted())
+        .andReturn();
+
+    String body = mockMvc.perform(asyncDispatch(result))
+        .andExpect(status().isOk())
+        .andExpect(content().contentType("text/csv"))
+        .andReturn().getResponse().getContentAsString();
+
+    String[] lines = body.split("\n");
+    assertEquals(5, lines.length);
+    assertTrue(lines[0].startsWith("id,description,amount"));
+  }
+
+  @Test
+  void listTransactions_ShouldPageWithCursor() throws Exception {
+    ListTransactionRequest request = new ListTransactionRequest();
+    request.setPageSize(3);
+
+    String body = mockMvc.perform(post("/api/transactions/list")
+            .contentType(MediaType.APPLICATION_JSON)
+            .content(objectMapper.writeValueAsString(request)))
+        .andExpect(status().isOk())
+        .andExpect(jsonPath("$.transactionList.length()").value(3))
+        .andExpect(jsonPath("$.nextCursor").isString())
+        .andReturn().getResponse().getContentAsString();
+
+    request.setCursor(objectMapper.readTree(body).get("nextCursor").asText());
+
+    mockMvc.perform(post("/api/transactions/list")
+            .contentType(MediaType.APPLICATION_JSON)
+            .content(objectMapper.writeValueAsString(request)))
+        .andExpect(status().isOk())
+        .andExpect(jsonPath("$.transactionList.length()").value(1))
+        .andExpect(jsonPath("$.nextCursor").doesNotExist());
+  }
+
+  @Test
+  void listTransactions_WithFilters_ShouldReturnMatchingRows() throws Exception {
+    ListTransactionRequest request = new ListTransactionRequest();
+    request.setType(TransactionType.INCOME);
+    request.setMinAmount(new BigDecimal("1000.00"));
+
+    mockMvc.perform(post("/api/transactions/list")
+            .contentType(MediaType.APPLICATION_JSON)
+            .content(objectMapper.writeValueAsString(request)))
+        .andExpect(status().isOk())
+        .andExpect(jsonPath("$.transactionList.length()").value(1))
+        .andExpect(jsonPath("$.transactionList[0].description").value("Salary"));
+  }
+
+  @Test
+  void listTransactions_WithInvalidCursor_ShouldReturnBadRequest() throws Exception {
+    ListTransactionRequest request = new ListTransactionRequest();
+    request.setCursor("not-a-cursor");
+
+    mockMvc.perform(post("/api/transactions/list")
+            .contentType(MediaType.APPLICATION_JSON)
+            .content(objectMapper.writeValueAsString(request)))
+        .andExpect(status().isBadRequest());
+  }
+
   @Test
   void getTransactionById_WithValidId_ShouldReturnTransaction() throws Exception {
     // Get ID from saved transaction
@@ -75,6 +237,31 @@ class TransactionControllerTest {
         .andExpect(jsonPath("$.id").value(id));
   }
 
+  @Test
+  void getTransactionById_ShouldBeCachedAndKeptCurrentByWrites() throws Exception {
+    Long id = transactionRepository.findAll().get(0).getId();
+    Cache cache = cacheManager.getCache(CacheConfig.TRANSACTIONS);
+
+    mockMvc.perform(get("/api/transactions/" + id)).andExpect(status().isOk());
+    assertNotNull(cache.get(id));
+
+    Transaction updatedTransaction = new Transaction("Updated Salary", new BigDecimal("6000.00"), TransactionType.INCOME, Category.SALARY, AccountType.CASH, LocalDate.EPOCH);
+    mockMvc.perform(put("/api/transactions/" + id)
+            .contentType(MediaType.APPLICATION_JSON)
+            .content(objectMapper.writeValueAsString(updatedTransaction)))
+        .andExpect(status().isOk());
+    mockMvc.perform(get("/api/transactions/" + id))
+        .andExpect(status().isOk())
+        .andExpect(jsonPath("$.description").value("Updated Salary"));
+
+    mockMvc.perform(delete("/api/transactions/" + id)).andExpect(status().isNoContent());
+    assertNull(cache.get(id));
+    mockMvc.perform(get("/api/transactions/" + id)).andExpect(status().isNotFound());
+
+    mockMvc.perform(get("/actuator/metrics/cache.gets").param("tag", "cache:transactions"))
+        .andExpect(status().isOk());
+  }
+
   @Test
   void getTransactionById_WithInvalidId_ShouldReturnNotFound() throws Exception {
     mockMvc.perform(get("/api/transactions/99999"))
@@ -103,6 +290,59 @@ class TransactionControllerTest {
         .andExpect(status().isBadRequest());
   }
 
+  @Test
+  void createTransaction_WithFutureDate_ShouldCountRejectByReason() throws Exception {
+    Transaction future = new Transaction("Later", new BigDecimal("10.00"), TransactionType.EXPENSE, Category.FOOD, AccountType.CASH, LocalDate.now().plusDays(1));
+    double before = meterRegistry.counter("transaction.validation.rejected", "reason", "date").count();
+
+    mockMvc.perform(post("/api/transactions")
+            .contentType(MediaType.APPLICATION_JSON)
+            .content(objectMapper.writeValueAsString(future)))
+        .andExpect(status().isBadRequest());
+
+    assertEquals(before + 1, meterRegistry.counter("transaction.validation.rejected", "reason", "date").count());
+  }
+
+  @Test
+  void createTransactions_AllOrNothing_WithInvalidRow_ShouldInsertNothing() throws Exception {
+    BulkTransactionRequest request = new BulkTransactionRequest(List.of(
+        new Transaction("Rent", new BigDecimal("1200.00"), TransactionType.EXPENSE, Category.RENT, AccountType.BANK_TRANSFER, LocalDate.EPOCH),
+        new Transaction(" ", new BigDecimal("10.00"), TransactionType.EXPENSE, Category.FOOD, AccountType.CASH, LocalDate.EPOCH)),
+        BulkMode.ALL_OR_NOTHING);
+
+    mockMvc.perform(post("/api/transactions/bulk")
+            .contentType(MediaType.APPLICATION_JSON)
+            .content(objectMapper.writeValueAsString(request)))
+        .andExpect(status().isBadRequest())
+        .andExpect(jsonPath("$.created").value(0))
+        .andExpect(jsonPath("$.results[1].error").value("Trxn description cant be blank"));
+
+    assertEquals(4, transactionRepository.count());
+  }
+
+  @Test
+  void createTransactions_Partial_ShouldInsertValidRows() throws Exception {
+    BulkTransactionRequest request = new BulkTransactionRequest(List.of(
+        new Transaction("Rent", new BigDecimal("1200.00"), TransactionType.EXPENSE, Category.RENT, AccountType.BANK_TRANSFER, LocalDate.EPOCH),
+        new Transaction("Too much", new BigDecimal("20000000.00"), TransactionType.EXPENSE, Category.FOOD, AccountType.CASH, LocalDate.EPOCH),
+        new Transaction("Bonus", new BigDecimal("300.00"), TransactionType.INCOME, Category.SALARY, AccountType.BANK_TRANSFER, LocalDate.EPOCH)),
+        BulkMode.PARTIAL);
+
+    mockMvc.perform(post("/api/transactions/bulk")
+            .contentType(MediaType.APPLICATION_JSON)
+            .content(objectMapper.writeValueAsString(request)))
+        .andExpect(status().isOk())
+        .andExpect(jsonPath("$.created").value(2))
+        .andExpect(jsonPath("$.failed").value(1))
+        .andExpect(jsonPath("$.results[0].id").exists())
+        .andExpect(jsonPath("$.results[1].id").doesNotExist())
+        .andExpect(jsonPath("$.results[2].id").exists());
+
+    assertEquals(6, transactionRepository.count());
+    mockMvc.perform(get("/api/transactions/summary"))
+        .andExpect(jsonPath("$.transactionCount").value(6));
+  }
+
   @Test
   void updateTransaction_WithValidData_ShouldReturnOk() throws Exception {
     Long id = transactionRepository.findAll().get(0).getId();
@@ -117,6 +357,29 @@ class TransactionControllerTest {
         .andExpect(jsonPath("$.amount").value(6000.00));
   }
 
+  @Test
+  void updateTransaction_WithStaleVersion_ShouldReturnConflict() throws Exception {
+    Long id = transactionRepository.findAll().get(0).getId();
+    Transaction firstEdit = new Transaction("First edit", new BigDecimal("10.00"), TransactionType.INCOME, Category.SALARY, AccountType.CASH, LocalDate.EPOCH);
+    firstEdit.setVersion(0L);
+
+    mockMvc.perform(put("/api/transactions/" + id)
+            .contentType(MediaType.APPLICATION_JSON)
+            .content(objectMapper.writeValueAsString(firstEdit)))
+        .andExpect(status().isOk())
+        .andExpect(jsonPath("$.version").value(1));
+
+    Transaction lostUpdate = new Transaction("Second edit", new BigDecimal("20.00"), TransactionType.INCOME, Category.SALARY, AccountType.CASH, LocalDate.EPOCH);
+    lostUpdate.setVersion(0L);
+
+    mockMvc.perform(put("/api/transactions/" + id)
+            .contentType(MediaType.APPLICATION_JSON)
+            .content(objectMapper.writeValueAsString(lostUpdate)))
+        .andExpect(status().isConflict());
+    mockMvc.perform(get("/api/transactions/" + id))
+        .andExpect(jsonPath("$.description").value("First edit"));
+  }
+
   @Test
   void updateTransaction_WithInvalidId_ShouldReturnNotFound() throws Exception {
     Transaction updatedTransaction = new Transaction("Updated", new BigDecimal("100.00"), TransactionType.EXPENSE, Category.FOOD, AccountType.CASH
@@ -152,6 +415,261 @@ class TransactionControllerTest {
         .andExpect(jsonPath("$.transactionCount").value(4));
   }
 
+  @Test
+  void getTransactionSummary_ShouldReflectWritesThroughApi() throws Exception {
+    Transaction newTransaction = new Transaction("Dinner", new BigDecimal("49.50"), TransactionType.EXPENSE, Category.FOOD, AccountType.CASH, LocalDate.EPOCH);
+    mockMvc.perform(post("/api/transactions")
+            .contentType(MediaType.APPLICATION_JSON)
+            .content(objectMapper.writeValueAsString(newTransaction)))
+        .andExpect(status().isCreated());
+
+    Long salaryId = transactionRepository.findByCategory(Category.SALARY).get(0).getId();
+    mockMvc.perform(delete("/api/transactions/" + salaryId))
+        .andExpect(status().isNoContent());
+
+    mockMvc.perform(get("/api/transactions/summary"))
+        .andExpect(status().isOk())
+        .andExpect(jsonPath("$.totalIncome").value(800.00))
+        .andExpect(jsonPath("$.totalExpense").value(275.00))
+        .andExpect(jsonPath("$.transactionCount").value(4));
+
+    mockMvc.perform(get("/api/transactions/summary").param("category", "FOOD"))
+        .andExpect(status().isOk())
+        .andExpect(jsonPath("$.totalExpense").value(200.00))
+        .andExpect(jsonPath("$.transactionCount").value(2));
+  }
+
+  @Test
+  void getTransactionSummary_WithFilters_ShouldAggregateMatchingRows() throws Exception {
+    mockMvc.perform(get("/api/transactions/summary")
+            .param("from", "1970-01-01")
+            .param("accountType", "BANK_TRANSFER"))
+        .andExpect(status().isOk())
+        .andExpect(jsonPath("$.totalIncome").value(0))
+        .andExpect(jsonPath("$.totalExpense").value(150.50))
+        .andExpect(jsonPath("$.transactionCount").value(1));
+  }
+
+  @Test
+  void getTransactionSummaryForRange_ShouldIncludeBothBounds() throws Exception {
+    mockMvc.perform(post("/api/transactions")
+            .contentType(MediaType.APPLICATION_JSON)
+            .content(objectMapper.writeValueAsString(new Transaction("Dinner",
+                new BigDecimal("49.50"), TransactionType.EXPENSE, Category.FOOD, AccountType.CASH,
+                LocalDate.of(1970, 1, 2)))))
+        .andExpect(status().isCreated());
+
+    mockMvc.perform(get("/api/transactions/summary/range")
+            .param("from", "1970-01-01")
+            .param("to", "1970-01-02"))
+        .andExpect(status().isOk())
+        .andExpect(jsonPath("$.totalIncome").value(5800.00))
+        .andExpect(jsonPath("$.totalExpense").value(200.00))
+        .andExpect(jsonPath("$.transactionCount").value(4));
+
+    mockMvc.perform(get("/api/transactions/summary/range")
+            .param("from", "1970-01-02")
+            .param("to", "1970-01-02"))
+        .andExpect(status().isOk())
+        .andExpect(jsonPath("$.totalExpense").value(49.50))
+        .andExpect(jsonPath("$.balance").value(-49.50))
+        .andExpect(jsonPath("$.transactionCount").value(1));
+
+    mockMvc.perform(get("/api/transactions/summary/range")
+            .param("from", "1970-01-02")
+            .param("to", "1970-01-01"))
+        .andExpect(status().isBadRequest());
+  }
+
+  @Test
+  void getRunningBalance_ShouldStartFromTheOpeningBalance() throws Exception {
+    Long gasId = transactionRepository.findByCategory(Category.BILLS).get(0).getId();
+    mockMvc.perform(delete("/api/transactions/" + gasId))
+        .andExpect(status().isNoContent());
+
+    mockMvc.perform(get("/api/transactions/summary/running-balance")
+            .param("from", "1969-12-31")
+            .param("to", "1970-01-02"))
+        .andExpect(status().isOk())
+        .andExpect(jsonPath("$.length()").value(3))
+        .andExpect(jsonPath("$[0].date").value("1969-12-31"))
+        .andExpect(jsonPath("$[0].balance").value(0))
+        .andExpect(jsonPath("$[1].income").value(5800.00))
+        .andExpect(jsonPath("$[1].expense").value(150.50))
+        .andExpect(jsonPath("$[1].transactionCount").value(3))
+        .andExpect(jsonPath("$[1].balance").value(5649.50))
+        .andExpect(jsonPath("$[2].transactionCount").value(0))
+        .andExpect(jsonPath("$[2].balance").value(5649.50));
+
+    mockMvc.perform(get("/api/transactions/summary/running-balance").param("from", "1970-01-01"))
+        .andExpect(status().isBadRequest());
+  }
+
+  @Test
+  void searchTransactions_ShouldMatchWordPrefixesWithFiltersAndFollowWrites() throws Exception {
+    mockMvc.perform(post("/api/transactions")
+            .contentType(MediaType.APPLICATION_JSON)
+            .content(objectMapper.writeValueAsString(new Transaction("Grocery delivery",
+                new BigDecimal("20.00"), TransactionType.EXPENSE, Category.GROCERY,
+                AccountType.CASH, LocalDate.EPOCH))))
+        .andExpect(status().isCreated());
+
+    mockMvc.perform(get("/api/transactions/search").param("q", "groc"))
+        .andExpect(status().isOk())
+        .andExpect(jsonPath("$.content.length()").value(2))
+        .andExpect(jsonPath("$.hasNext").value(false));
+
+    mockMvc.perform(get("/api/transactions/search")
+            .param("q", "grocery")
+            .param("category", "FOOD")
+            .param("size", "1"))
+        .andExpect(status().isOk())
+        .andExpect(jsonPath("$.content.length()").value(1))
+        .andExpect(jsonPath("$.content[0].description").value("Grocery"))
+        .andExpect(jsonPath("$.hasNext").value(false));
+
+    mockMvc.perform(get("/api/transactions/search").param("q", "  "))
+        .andExpect(status().isBadRequest());
+    // deep enough to overflow the offset as an int
+    mockMvc.perform(get("/api/transactions/search").param("q", "grocery")
+            .param("page", String.valueOf(Integer.MAX_VALUE)))
+        .andExpect(status().isBadRequest());
+    mockMvc.perform(get("/api/transactions/search").param("q", "grocery").param("page", "201"))
+        .andExpect(status().isBadRequest());
+  }
+
+  @Test
+  void getChanges_ShouldReturnLatestStateAndTombstonesInCommitOrder() throws Exception {
+    long start = transactionChangeRepository.findLastSequence().orElse(0L);
+    long coffeeId = createThroughApi(new Transaction("Coffee", new BigDecimal("3.00"),
+        TransactionType.EXPENSE, Category.FOOD, AccountType.CASH, LocalDate.EPOCH));
+    long teaId = createThroughApi(new Transaction("Tea", new BigDecimal("2.00"),
+        TransactionType.EXPENSE, Category.FOOD, AccountType.CASH, LocalDate.EPOCH));
+    mockMvc.perform(put("/api/transactions/" + coffeeId)
+            .contentType(MediaType.APPLICATION_JSON)
+            .content(objectMapper.writeValueAsString(new Transaction("Coffee beans",
+                new BigDecimal("12.00"), TransactionType.EXPENSE, Category.FOOD, AccountType.CASH,
+                LocalDate.EPOCH))))
+        .andExpect(status().isOk());
+    mockMvc.perform(delete("/api/transactions/" + teaId))
+        .andExpect(status().isNoContent());
+
+    mockMvc.perform(get("/api/transactions/changes").param("since", String.valueOf(start)))
+        .andExpect(status().isOk())
+        .andExpect(jsonPath("$.changed.length()").value(1))
+        .andExpect(jsonPath("$.changed[0].id").value(coffeeId))
+        .andExpect(jsonPath("$.changed[0].description").value("Coffee beans"))
+        .andExpect(jsonPath("$.deleted.length()").value(1))
+        .andExpect(jsonPath("$.deleted[0]").value(teaId))
+        .andExpect(jsonPath("$.sequence").value(start + 4))
+        .andExpect(jsonPath("$.hasMore").value(false));
+
+    mockMvc.perform(get("/api/transactions/changes")
+            .param("since", String.valueOf(start))
+            .param("limit", "1"))
+        .andExpect(status().isOk())
+        .andExpect(jsonPath("$.changed[0].id").value(coffeeId))
+        .andExpect(jsonPath("$.sequence").value(start + 1))
+        .andExpect(jsonPath("$.hasMore").value(true));
+
+    mockMvc.perform(get("/api/transactions/changes").param("since", String.valueOf(start + 4)))
+        .andExpect(status().isOk())
+        .andExpect(jsonPath("$.changed.length()").value(0))
+        .andExpect(jsonPath("$.deleted.length()").value(0))
+        .andExpect(jsonPath("$.sequence").value(start + 4));
+  }
+
+  @Test
+  void getChanges_ShouldWaitForARecentGapInTheSequence() throws Exception {
+    long start = transactionChangeRepository.findLastSequence().orElse(0L);
+    // a change that took a sequence and has not committed yet
+    TransactionChange uncommitted = transactionChangeRepository.save(
+        new TransactionChange(-1L, TransactionChangeType.CREATED, LocalDateTime.now()));
+    transactionChangeRepository.delete(uncommitted);
+    long coffeeId = createThroughApi(new Transaction("Coffee", new BigDecimal("3.00"),
+        TransactionType.EXPENSE, Category.FOOD, AccountType.CASH, LocalDate.EPOCH));
+
+    mockMvc.perform(get("/api/transactions/changes").param("since", String.valueOf(start)))
+        .andExpect(status().isOk())
+        .andExpect(jsonPath("$.changed.length()").value(0))
+        .andExpect(jsonPath("$.sequence").value(start))
+        .andExpect(jsonPath("$.hasMore").value(false));
+
+    // once the gap is older than the grace period it was a rollback
+    TransactionChange coffee = transactionChangeRepository.findById(start + 2).orElseThrow();
+    coffee.setRecordedAt(LocalDateTime.now().minusMinutes(1));
+    transactionChangeRepository.save(coffee);
+    mockMvc.perform(get("/api/transactions/changes").param("since", String.valueOf(start)))
+        .andExpect(status().isOk())
+        .andExpect(jsonPath("$.changed[0].id").value(coffeeId))
+        .andExpect(jsonPath("$.sequence").value(start + 2));
+  }
+
+  @Test
+  void conditionalGet_ShouldReturnNotModifiedUntilTheLedgerChanges() throws Exception {
+    String etag = mockMvc.perform(get("/api/transactions"))
+        .andExpect(status().isOk())
+        .andExpect(header().exists(HttpHeaders.ETAG))
+        .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+
+    mockMvc.perform(get("/api/transactions").header(HttpHeaders.IF_NONE_MATCH, etag))
+        .andExpect(status().isNotModified())
+        .andExpect(content().string(""));
+    mockMvc.perform(get("/api/transactions/summary").header(HttpHeaders.IF_NONE_MATCH, etag))
+        .andExpect(status().isNotModified());
+
+    createThroughApi(new Transaction("Coffee", new BigDecimal("3.00"), TransactionType.EXPENSE,
+        Category.FOOD, AccountType.CASH, LocalDate.EPOCH));
+
+    String changed = mockMvc.perform(get("/api/transactions/by-category/FOOD")
+            .header(HttpHeaders.IF_NONE_MATCH, etag))
+        .andExpect(status().isOk())
+        .andExpect(jsonPath("$.length()").value(2))
+        .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+    assertNotEquals(etag, changed);
+  }
+
+  @Test
+  void getTransactionById_ShouldBeTaggedWithItsVersion() throws Exception {
+    Long id = transactionRepository.findByCategory(Category.SALARY).get(0).getId();
+    String etag = mockMvc.perform(get("/api/transactions/" + id))
+        .andExpect(status().isOk())
+        .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+    assertEquals("W/\"" + id + "-0\"", etag);
+
+    mockMvc.perform(get("/api/transactions/" + id).header(HttpHeaders.IF_NONE_MATCH, etag))
+        .andExpect(status().isNotModified())
+        .andExpect(content().string(""));
+
+    mockMvc.perform(put("/api/transactions/" + id)
+            .contentType(MediaType.APPLICATION_JSON)
+            .content(objectMapper.writeValueAsString(new Transaction("Bonus",
+                new BigDecimal("5000.00"), TransactionType.INCOME, Category.SALARY,
+                AccountType.CASH, LocalDate.EPOCH))))
+        .andExpect(status().isOk());
+
+    mockMvc.perform(get("/api/transactions/" + id).header(HttpHeaders.IF_NONE_MATCH, etag))
+        .andExpect(status().isOk())
+        .andExpect(header().string(HttpHeaders.ETAG, "W/\"" + id + "-1\""))
+        .andExpect(jsonPath("$.description").value("Bonus"));
+  }
+
+  @Test
+  void getTransactionBreakdown_ShouldGroupByMonthCategoryAndAccountType() throws Exception {
+    transactionRepository.save(new Transaction("Dinner", new BigDecimal("49.50"), TransactionType.EXPENSE, Category.FOOD, AccountType.BANK_TRANSFER, LocalDate.of(1970, 1, 20)));
+    transactionRepository.save(new Transaction("Lunch", new BigDecimal("10.00"), TransactionType.EXPENSE, Category.FOOD, AccountType.BANK_TRANSFER, LocalDate.of(1970, 2, 3)));
+
+    mockMvc.perform(get("/api/transactions/breakdown")
+            .param("from", "1970-01-01")
+            .param("to", "1970-12-31"))
+        .andExpect(status().isOk())
+        .andExpect(jsonPath("$.rows.length()").value(4))
+        .andExpect(jsonPath("$.rows[?(@.month == '1970-01' && @.category == 'FOOD')].expense").value(200.00))
+        .andExpect(jsonPath("$.rows[?(@.month == '1970-01' && @.category == 'FOOD')].transactionCount").value(2))
+        .andExpect(jsonPath("$.rows[?(@.month == '1970-02')].expense").value(10.00))
+        .andExpect(jsonPath("$.rows[?(@.category == 'SALARY')].income").value(5000.00));
+  }
+
   @Test
   void getTransactionsByType_WithIncome_ShouldReturnIncomeTransactions() throws Exception {
     mockMvc.perform(get("/api/transactions/by-type/INCOME"))
@@ -159,4 +677,117 @@ class TransactionControllerTest {
         .andExpect(jsonPath("$").isArray())
         .andExpect(jsonPath("$[0].type").value("INCOME"));
   }
+
+  @Test
+  void getTransactionsByCategoryPage_ShouldReturnBoundedSlice() throws Exception {
+    for (int i = 0; i < 3; i++) {
+      transactionRepository.save(new Transaction("Lunch " + i, new BigDecimal("12.00"), TransactionType.EXPENSE, Category.FOOD, AccountType.CASH, LocalDate.EPOCH.plusDays(i)));
+    }
+
+    mockMvc.perform(get("/api/transactions/by-category/FOOD/page")
+            .param("size", "2")
+            .param("sort", "date,desc"))
+        .andExpect(status().isOk())
+        .andExpect(jsonPath("$.content.length()").value(2))
+        .andExpect(jsonPath("$.content[0].description").value("Lunch 2"))
+        .andExpect(jsonPath("$.hasNext").value(true));
+
+    mockMvc.perform(get("/api/transactions/by-category/FOOD/page")
+            .param("page", "1")
+            .param("size", "2")
+            .param("sort", "date,desc"))
+        .andExpect(status().isOk())
+        .andExpect(jsonPath("$.content.length()").value(2))
+        .andExpect(jsonPath("$.hasNext").value(false));
+  }
+
+  @Test
+  void getTransactionsByCategoryPage_WithEqualDates_ShouldBreakTiesById() throws Exception {
+    long[] ids = new long[3];
+    for (int i = 0; i < 3; i++) {
+      ids[i] = transactionRepository.save(new Transaction("Lunch " + i, new BigDecimal("12.00"), TransactionType.EXPENSE, Category.FOOD, AccountType.CASH, LocalDate.EPOCH.plusDays(1))).getId();
+    }
+
+    mockMvc.perform(get("/api/transactions/by-category/FOOD/page").param("size", "2"))
+        .andExpect(status().isOk())
+        .andExpect(jsonPath("$.content[0].id").value(ids[2]))
+        .andExpect(jsonPath("$.content[1].id").value(ids[1]));
+    mockMvc.perform(get("/api/transactions/by-category/FOOD/page").param("size", "2").param("page", "1"))
+        .andExpect(status().isOk())
+        .andExpect(jsonPath("$.content[0].id").value(ids[0]));
+    mockMvc.perform(get("/api/transactions/by-category/FOOD/page").param("size", "2").param("page", "1")
+            .param("sort", "date,desc"))
+        .andExpect(status().isOk())
+        .andExpect(jsonPath("$.content[0].id").value(ids[2]));
+  }
+
+  @Test
+  void getTransactionsByTypePage_ShouldClampPageSize() throws Exception {
+    mockMvc.perform(get("/api/transactions/by-type/EXPENSE/page").param("size", "100000"))
+        .andExpect(status().isOk())
+        .andExpect(jsonPath("$.size").value(200));
+  }
+
+  @Test
+  void getTransactionsByTypePage_BeyondMaxOffsetWithEmptyArchive_ShouldReadTheTable()
+      throws Exception {
+    mockMvc.perform(get("/api/transactions/by-type/EXPENSE/page").param("page", "201"))
+        .andExpect(status().isOk())
+        .andExpect(jsonPath("$.page").value(201))
+        .andExpect(jsonPath("$.content.length()").value(0));
+  }
+
+  @Test
+  void getTransactionsByTypePage_WithUnknownSort_ShouldReturnBadRequest() throws Exception {
+    mockMvc.perform(get("/api/transactions/by-type/EXPENSE/page").param("sort", "nope"))
+        .andExpect(status().isBadRequest());
+  }
+
+  @Test
+  void getAllTransactions_ShouldRecordTimerRowsAndHibernateStatistics() throws Exception {
+    mockMvc.perform(get("/api/transactions"))
+        .andExpect(status().isOk());
+
+    Timer timer = meterRegistry.get("transaction.service").tag("method", "getAllTransactions").timer();
+    assertTrue(timer.count() >= 1);
+    DistributionSummary rows = meterRegistry.get("transaction.rows.loaded").tag("method", "getAllTransactions").summary();
+    assertEquals(4, rows.max());
+    DistributionSummary entities = meterRegistry.get("hibernate.request.entities.loaded").tag("uri", "/api/transactions").summary();
+    assertEquals(4, entities.max());
+    assertTrue(meterRegistry.get("hibernate.request.statements").tag("uri", "/api/transactions").summary().max() >= 1);
+  }
+
+  @Test
+  void getTransactionsByCategory_ShouldServeCachedResultUntilCategoryChanges() throws Exception {
+    mockMvc.perform(get("/api/transactions/by-category/FOOD"))
+        .andExpect(status().isOk())
+        .andExpect(jsonPath("$.length()").value(1));
+    mockMvc.perform(get("/api/transactions/by-category/SALARY"))
+        .andExpect(jsonPath("$.length()").value(1));
+
+    // bypasses the service, so nothing invalidates the cached results
+    transactionRepository.save(new Transaction("Snack", new BigDecimal("5.00"), TransactionType.EXPENSE, Category.FOOD, AccountType.CASH, LocalDate.EPOCH));
+    mockMvc.perform(get("/api/transactions/by-category/FOOD"))
+        .andExpect(jsonPath("$.length()").value(1));
+
+    Transaction lunch = new Transaction("Lunch", new BigDecimal("15.00"), TransactionType.EXPENSE, Category.FOOD, AccountType.CASH, LocalDate.EPOCH);
+    mockMvc.perform(post("/api/transactions")
+            .contentType(MediaType.APPLICATION_JSON)
+            .content(objectMapper.writeValueAsString(lunch)))
+        .andExpect(status().isCreated());
+
+    mockMvc.perform(get("/api/transactions/by-category/FOOD"))
+        .andExpect(jsonPath("$.length()").value(3));
+    Cache byCategory = cacheManager.getCache(CacheConfig.TRANSACTIONS_BY_CATEGORY);
+    assertNotNull(byCategory.get(resultKeys.of(Category.SALARY)));
+  }
+
+  private long createThroughApi(Transaction transaction) throws Exception {
+    String body = mockMvc.perform(post("/api/transactions")
+            .contentType(MediaType.APPLICATION_JSON)
+            .content(objectMapper.writeValueAsString(transaction)))
+        .andExpect(status().isCreated())
+        .andReturn().getResponse().getContentAsString();
+    return objectMapper.readTree(body).get("id").asLong();
+  }
 }
@@ -0,0 +1,40 @@
+package com.moneytracker.model;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.math.BigDecimal;
+import org.junit.jupiter.api.Test;
+
+class MoneyTest {
+
+  @Test
+  void toCents_ShouldConvertExactly() {
+    assertEquals(123456L, Money.toCents(new BigDecimal("1234.56")));
+    assertEquals(1000L, Money.toCents(BigDecimal.TEN));
+    assertEquals(150L, Money.toCents(new BigDecimal("1.5000")));
+    assertEquals(-5L, Money.toCents(new BigDecimal("-0.05")));
+  }
+
+  @Test
+  void toCents_WithFractionOfACent_ShouldThrow() {
+    assertThrows(IllegalArgumentException.class, () -> Money.toCents(new BigDecimal("0.001")));
+  }
+
+  @Test
+  void toCents_WithAmountBeyondLongRange_ShouldThrow() {
+    assertThrows(ArithmeticException.class, () -> Money.toCents(new BigDecimal("1E20")));
+  }
+
+  @Test
+  void fromCents_ShouldKeepTwoDecimals() {
+    assertEquals(new BigDecimal("5574.50"), Money.fromCents(557450L));
+  }
+
+  @Test
+  void add_ShouldDetectOverflow() {
+    assertEquals(3L, Money.add(1L, 2L));
+    assertThrows(ArithmeticException.class, () -> Money.add(Long.MAX_VALUE, 1L));
+    assertThrows(ArithmeticException.class, () -> Money.subtract(Long.MIN_VALUE, 1L));
+  }
+}
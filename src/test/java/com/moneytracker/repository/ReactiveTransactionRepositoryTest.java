@@ -0,0 +1,56 @@
+package com.moneytracker.repository;
+
+import com.moneytracker.model.AccountType;
+import com.moneytracker.model.Category;
+import com.moneytracker.model.Transaction;
+import com.moneytracker.model.TransactionType;
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.time.LocalDate;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import reactor.test.StepVerifier;
+
+@SpringBootTest
+@ActiveProfiles("test")
+class ReactiveTransactionRepositoryTest {
+
+  @Autowired
+  private TransactionRepository transactionRepository;
+
+  @Autowired
+  private ReactiveTransactionRepository reactiveTransactionRepository;
+
+  @BeforeEach
+  void setUp() {
+    transactionRepository.deleteAll();
+    for (int day = 1; day <= 3; day++) {
+      transactionRepository.save(new Transaction("Lunch " + day, new BigDecimal("12.00"),
+          TransactionType.EXPENSE, Category.FOOD, AccountType.CASH, LocalDate.of(2024, 5, day)));
+    }
+  }
+
+  @Test
+  void findByType_ShouldEmitOnlyWhatIsRequested() {
+    StepVerifier.create(reactiveTransactionRepository.findByType(TransactionType.EXPENSE), 1)
+        .expectNextMatches(t -> t.getDescription().equals("Lunch 3"))
+        .expectNoEvent(Duration.ofMillis(100))
+        .thenRequest(2)
+        .expectNextMatches(t -> t.getDescription().equals("Lunch 2"))
+        .expectNextMatches(t -> t.getDescription().equals("Lunch 1"))
+        .verifyComplete();
+  }
+
+  @Test
+  void sumByType_WithFilters_ShouldGroupMatchingRows() {
+    StepVerifier.create(reactiveTransactionRepository.sumByType(LocalDate.of(2024, 5, 2), null,
+            Category.FOOD, null))
+        .expectNextMatches(total -> total.getType() == TransactionType.EXPENSE
+            && total.getTotal().compareTo(new BigDecimal("24.00")) == 0
+            && total.getCount() == 2)
+        .verifyComplete();
+  }
+}
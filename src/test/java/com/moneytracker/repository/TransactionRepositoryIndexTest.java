@@ -0,0 +1,96 @@
+package com.moneytracker.repository;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import com.moneytracker.model.AccountType;
+import com.moneytracker.model.Category;
+import com.moneytracker.model.TransactionType;
+import java.time.LocalDate;
+import java.util.List;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+
+/**
+ * Runs each finder, captures the SQL Hibernate sent for it from H2's query statistics and
+ * checks the plan H2 picks for that statement, with the same parameters bound.
+ */
+@SpringBootTest
+@ActiveProfiles("test")
+class TransactionRepositoryIndexTest {
+
+  private static final LocalDate FROM = LocalDate.of(2024, 1, 1);
+  private static final LocalDate TO = LocalDate.of(2024, 12, 31);
+
+  @Autowired
+  private JdbcTemplate jdbcTemplate;
+
+  @Autowired
+  private TransactionRepository transactionRepository;
+
+  @Test
+  void findByType_ShouldUseTypeDateIndex() {
+    String plan = explain(() -> transactionRepository.findByType(TransactionType.INCOME),
+        TransactionType.INCOME.name());
+
+    assertUsesIndex(plan, "IDX_TRANSACTIONS_TYPE_DATE");
+  }
+
+  @Test
+  void findByCategoryPage_ShouldUseCategoryDateIndex() {
+    String plan = explain(() -> transactionRepository.findByCategory(Category.FOOD,
+            PageRequest.of(1, 50, Sort.by(Sort.Direction.DESC, "date", "id"))),
+        Category.FOOD.name(), 50, 51);
+
+    assertUsesIndex(plan, "IDX_TRANSACTIONS_CATEGORY_DATE");
+  }
+
+  @Test
+  void accountTypeWithDateRange_ShouldUseAccountTypeDateIndex() {
+    String plan = explain(() -> transactionRepository.findAll(
+            TransactionSpecifications.hasAccountType(AccountType.CASH)
+                .and(TransactionSpecifications.dateFrom(FROM))
+                .and(TransactionSpecifications.dateTo(TO))),
+        AccountType.CASH.name(), FROM, TO);
+
+    assertUsesIndex(plan, "IDX_TRANSACTIONS_ACCOUNT_TYPE_DATE");
+  }
+
+  @Test
+  void dateRange_ShouldUseDateIndex() {
+    String plan = explain(() -> transactionRepository.findAll(
+            TransactionSpecifications.dateFrom(FROM).and(TransactionSpecifications.dateTo(TO))),
+        FROM, TO);
+
+    assertUsesIndex(plan, "IDX_TRANSACTIONS_DATE");
+  }
+
+  /** Plan of the one statement on the transactions table that {@code finder} issues. */
+  private String explain(Runnable finder, Object... parameters) {
+    jdbcTemplate.execute("SET QUERY_STATISTICS TRUE");
+    List<String> statements;
+    try {
+      finder.run();
+      statements = jdbcTemplate.queryForList("select sql_statement"
+          + " from information_schema.query_statistics"
+          + " where sql_statement like 'select % from transactions %'", String.class);
+    } finally {
+      // switching statistics off also clears them for the next test
+      jdbcTemplate.execute("SET QUERY_STATISTICS FALSE");
+    }
+    assertEquals(1, statements.size(), () -> "expected one statement, got " + statements);
+    return jdbcTemplate.queryForObject("explain " + statements.get(0), String.class,
+        parameters);
+  }
+
+  private static void assertUsesIndex(String plan, String index) {
+    assertTrue(plan.toUpperCase().contains(index), () -> "expected " + index + " in " + plan);
+    assertFalse(plan.contains("tableScan"), () -> "unexpected full scan in " + plan);
+  }
+}
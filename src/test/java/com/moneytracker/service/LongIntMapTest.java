@@ -0,0 +1,35 @@
+package com.moneytracker.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Random;
+import org.junit.jupiter.api.Test;
+
+class LongIntMapTest {
+
+  @Test
+  void randomOperations_ShouldMatchAHashMap() {
+    Random random = new Random(3);
+    LongIntMap map = new LongIntMap();
+    Map<Long, Integer> expected = new HashMap<>();
+    // a narrow key range keeps probe runs long and removals frequent
+    for (int i = 0; i < 200_000; i++) {
+      long key = random.nextInt(20_000) * 1024L;
+      if (random.nextInt(3) == 0) {
+        Integer removed = expected.remove(key);
+        assertEquals(removed == null ? LongIntMap.NONE : removed, map.remove(key));
+      } else {
+        int value = random.nextInt(Integer.MAX_VALUE);
+        expected.put(key, value);
+        map.put(key, value);
+      }
+    }
+
+    assertEquals(expected.size(), map.size());
+    for (long key = 0; key < 20_000 * 1024L; key += 1024) {
+      assertEquals(expected.getOrDefault(key, LongIntMap.NONE), map.get(key));
+    }
+  }
+}
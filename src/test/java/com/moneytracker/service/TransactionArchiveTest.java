@@ -0,0 +1,198 @@
+package com.moneytracker.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import com.moneytracker.model.AccountType;
+import com.moneytracker.model.Category;
+import com.moneytracker.model.Money;
+import com.moneytracker.model.Transaction;
+import com.moneytracker.model.TransactionType;
+import com.moneytracker.model.TransactionTypeTotal;
+import com.moneytracker.repository.TransactionRepository;
+import java.math.BigDecimal;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Random;
+import java.util.function.Predicate;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+class TransactionArchiveTest {
+
+  private static final Comparator<Transaction> NEWEST_FIRST =
+      Comparator.comparing(Transaction::getDate).thenComparing(Transaction::getId).reversed();
+
+  @TempDir
+  private Path directory;
+
+  private final TransactionRepository transactionRepository = mock(TransactionRepository.class);
+  private final List<Transaction> rows = new ArrayList<>();
+
+  private TransactionArchive archive;
+
+  @BeforeEach
+  void setUp() {
+    Random random = new Random(42);
+    TransactionType[] types = TransactionType.values();
+    Category[] categories = Category.values();
+    AccountType[] accountTypes = AccountType.values();
+    // more than two description blocks, ids out of order and with gaps
+    for (int i = 0; i < 2 * TransactionArchiveSegment.BLOCK_ROWS + 500; i++) {
+      Transaction transaction = new Transaction((long) (3 * i + 1), "Row " + i + " été",
+          BigDecimal.valueOf(random.nextInt(1_000_000), 2), types[random.nextInt(types.length)],
+          categories[random.nextInt(categories.length)],
+          accountTypes[random.nextInt(accountTypes.length)],
+          LocalDate.of(2020, 1, 1).plusDays(random.nextInt(365)),
+          LocalDateTime.of(2020, 1, 1, 12, 0, 0, 123_456_000), i % 2 == 0 ? null
+              : LocalDateTime.of(2021, 6, 1, 8, 30));
+      transaction.setVersion((long) i % 3);
+      rows.add(transaction);
+    }
+    archive = new TransactionArchive(directory, transactionRepository);
+    List<Transaction> shuffled = new ArrayList<>(rows);
+    Collections.shuffle(shuffled, random);
+    archive.publish(archive.write(shuffled.subList(0, 1000)));
+    archive.publish(archive.write(shuffled.subList(1000, shuffled.size())));
+  }
+
+  @Test
+  void findById_ShouldRestoreEveryColumn() {
+    for (Transaction expected : rows) {
+      Transaction actual = archive.findById(expected.getId()).orElseThrow();
+      assertEquals(expected.getDescription(), actual.getDescription());
+      assertEquals(0, expected.getAmount().compareTo(actual.getAmount()));
+      assertEquals(expected.getType(), actual.getType());
+      assertEquals(expected.getCategory(), actual.getCategory());
+      assertEquals(expected.getAccountType(), actual.getAccountType());
+      assertEquals(expected.getDate(), actual.getDate());
+      assertEquals(expected.getCreatedAt(), actual.getCreatedAt());
+      assertEquals(expected.getUpdatedAt(), actual.getUpdatedAt());
+      assertEquals(expected.getVersion(), actual.getVersion());
+    }
+    assertFalse(archive.contains(2));
+    assertTrue(archive.findById(2).isEmpty());
+    assertEquals(rows.size(), archive.size());
+    assertEquals(rows.size(), archive.stream().count());
+  }
+
+  @Test
+  void find_ShouldMatchAFullScan() {
+    TransactionArchive.Filter filter = new TransactionArchive.Filter(null, Category.FOOD, null,
+        LocalDate.of(2020, 3, 1), LocalDate.of(2020, 9, 30), new BigDecimal("100.001"),
+        new BigDecimal("9000"), null, null);
+    Predicate<Transaction> matches = t -> t.getCategory() == Category.FOOD
+        && !t.getDate().isBefore(LocalDate.of(2020, 3, 1))
+        && !t.getDate().isAfter(LocalDate.of(2020, 9, 30))
+        && t.getAmount().compareTo(new BigDecimal("100.01")) >= 0
+        && t.getAmount().compareTo(new BigDecimal("9000")) <= 0;
+    List<Long> expected = rows.stream().filter(matches).sorted(NEWEST_FIRST).limit(20)
+        .map(Transaction::getId).toList();
+
+    List<Long> actual = archive.find(filter, NEWEST_FIRST, 20).stream()
+        .map(Transaction::getId).toList();
+
+    assertEquals(expected, actual);
+  }
+
+  @Test
+  void find_WithKeysetCursor_ShouldPageThroughEveryRowOnce() {
+    List<Long> seen = new ArrayList<>();
+    TransactionArchive.Filter filter = TransactionArchive.Filter.ALL;
+    List<Transaction> page;
+    while (!(page = archive.find(filter, TransactionArchive.NEWEST_FIRST, 500)).isEmpty()) {
+      page.forEach(t -> seen.add(t.getId()));
+      Transaction last = page.get(page.size() - 1);
+      filter = TransactionArchive.Filter.ALL.before(last.getDate(), last.getId());
+    }
+
+    assertEquals(rows.stream().sorted(NEWEST_FIRST).map(Transaction::getId).toList(), seen);
+  }
+
+  @Test
+  void find_NewestFirstAcrossYears_ShouldMatchAFullScan() {
+    // one extra segment per year, so that the newest-first scan can stop early
+    for (int year = 2015; year <= 2019; year++) {
+      List<Transaction> segment = new ArrayList<>();
+      for (int i = 0; i < 10; i++) {
+        Transaction transaction = row(200_000 + year * 100L + i);
+        transaction.setDate(LocalDate.of(year, 1 + i, 1));
+        segment.add(transaction);
+      }
+      rows.addAll(segment);
+      archive.publish(archive.write(segment));
+    }
+    TransactionArchive.Filter filter = TransactionArchive.Filter.of(Category.FOOD);
+
+    for (int limit : new int[] {5, 50, 5_000}) {
+      List<Long> expected = rows.stream().filter(t -> t.getCategory() == Category.FOOD)
+          .sorted(NEWEST_FIRST).limit(limit).map(Transaction::getId).toList();
+      assertEquals(expected, archive.find(filter, TransactionArchive.NEWEST_FIRST, limit)
+          .stream().map(Transaction::getId).toList());
+    }
+  }
+
+  @Test
+  void sumByType_ShouldMatchAFullScan() {
+    List<TransactionTypeTotal> totals =
+        archive.sumByType(TransactionArchive.Filter.of(Category.SALARY));
+
+    assertFalse(totals.isEmpty());
+    for (TransactionTypeTotal total : totals) {
+      List<Transaction> matching = rows.stream()
+          .filter(t -> t.getCategory() == Category.SALARY && t.getType() == total.getType())
+          .toList();
+      long cents = matching.stream().mapToLong(t -> Money.toCents(t.getAmount())).sum();
+      assertEquals(matching.size(), total.getCount());
+      assertEquals(Money.fromCents(cents), total.getTotal());
+    }
+  }
+
+  @Test
+  void open_ShouldCompletePendingSegmentsWhoseRowsWereDeleted() throws Exception {
+    Path committed = archive.write(List.of(row(100_001)));
+    Path rolledBack = archive.write(List.of(row(100_002)));
+    when(transactionRepository.existsById(100_001L)).thenReturn(false);
+    when(transactionRepository.existsById(100_002L)).thenReturn(true);
+
+    TransactionArchive reopened = new TransactionArchive(directory, transactionRepository);
+
+    assertEquals(rows.size() + 1, reopened.size());
+    assertTrue(reopened.contains(100_001));
+    assertFalse(reopened.contains(100_002));
+    assertFalse(Files.exists(committed));
+    assertFalse(Files.exists(rolledBack));
+  }
+
+  @Test
+  void publish_WhenTheRenameFails_ShouldServeThePendingSegment() throws Exception {
+    Path pending = archive.write(List.of(row(100_003)));
+    String name = pending.getFileName().toString();
+    // a non-empty directory in the way makes the rename fail
+    Path blocker = pending.resolveSibling(name.replace(".pending", ".seg"));
+    Files.createDirectories(blocker.resolve("in-the-way"));
+
+    archive.publish(pending);
+
+    assertTrue(archive.contains(100_003));
+    assertTrue(Files.exists(pending));
+  }
+
+  private static Transaction row(long id) {
+    Transaction transaction = new Transaction(id, "Pending", BigDecimal.ONE,
+        TransactionType.EXPENSE, Category.FOOD, AccountType.CASH, LocalDate.of(2020, 1, 1),
+        null, null);
+    transaction.setVersion(0L);
+    return transaction;
+  }
+}
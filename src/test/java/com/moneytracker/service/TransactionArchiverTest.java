@@ -0,0 +1,202 @@
+package com.moneytracker.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import com.moneytracker.model.AccountType;
+import com.moneytracker.model.Category;
+import com.moneytracker.model.ListTransactionRequest;
+import com.moneytracker.model.ListTransactionResponse;
+import com.moneytracker.model.Transaction;
+import com.moneytracker.model.TransactionChanges;
+import com.moneytracker.model.TransactionSummary;
+import com.moneytracker.model.TransactionType;
+import com.moneytracker.repository.TransactionRepository;
+import java.math.BigDecimal;
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+
+/**
+ * Archives part of a small ledger in batches and checks that the service reads both tiers as
+ * one. Runs on its own database so that archiving cannot affect the other tests.
+ */
+@SpringBootTest(properties = {
+    "spring.datasource.url=jdbc:h2:mem:archivetest;DB_CLOSE_DELAY=-1;DB_CLOSE_ON_EXIT=FALSE",
+    "spring.r2dbc.url=r2dbc:h2:mem:///archivetest?options=DB_CLOSE_DELAY=-1;DB_CLOSE_ON_EXIT=FALSE",
+    "money-tracker.archive.enabled=true",
+    "money-tracker.archive.cron=-",
+    "money-tracker.archive.batch-size=2"})
+@ActiveProfiles("test")
+class TransactionArchiverTest {
+
+  @TempDir
+  static Path archiveDirectory;
+
+  @DynamicPropertySource
+  static void archiveProperties(DynamicPropertyRegistry registry) {
+    registry.add("money-tracker.archive.dir", () -> archiveDirectory.toString());
+  }
+
+  @Autowired
+  private TransactionArchiver transactionArchiver;
+
+  @Autowired
+  private TransactionArchive transactionArchive;
+
+  @Autowired
+  private TransactionService transactionService;
+
+  @Autowired
+  private TransactionRepository transactionRepository;
+
+  @Autowired
+  private TransactionTotals transactionTotals;
+
+  @Autowired
+  private TransactionChangeLog transactionChangeLog;
+
+  @Autowired
+  private ReactiveTransactionService reactiveTransactionService;
+
+  @Test
+  void archive_ShouldMoveOldRowsWithoutChangingWhatClientsSee() {
+    List<Transaction> seeded = new ArrayList<>();
+    seeded.add(save("Rent 2019", "900.00", TransactionType.EXPENSE, LocalDate.of(2019, 12, 1)));
+    seeded.add(save("Salary 2020", "3000.00", TransactionType.INCOME, LocalDate.of(2020, 1, 31)));
+    seeded.add(save("Rent 2020", "950.00", TransactionType.EXPENSE, LocalDate.of(2020, 1, 1)));
+    seeded.add(save("Salary now", "3200.00", TransactionType.INCOME, LocalDate.of(2024, 1, 31)));
+    seeded.add(save("Rent now", "1000.00", TransactionType.EXPENSE, LocalDate.of(2024, 1, 1)));
+    transactionTotals.rebuild();
+    long archivedBefore = transactionArchive.size();
+    long liveBefore = transactionRepository.count();
+    List<Long> before = ids(listAll());
+    TransactionSummary summaryBefore = transactionService.getTransactionSummary(
+        LocalDate.of(2019, 1, 1), null, Category.BILLS, AccountType.CASH);
+
+    int archived = transactionArchiver.archive(LocalDate.of(2021, 1, 1));
+
+    assertEquals(3, archived);
+    assertEquals(archivedBefore + 3, transactionArchive.size());
+    assertEquals(liveBefore - 3, transactionRepository.count());
+    assertEquals(before, ids(listAll()));
+    assertEquals(before.size(), transactionService.getAllTransactions().size());
+    assertEquals("Rent 2019",
+        transactionService.getTransactionById(seeded.get(0).getId()).orElseThrow()
+            .getDescription());
+    TransactionSummary summaryAfter = transactionService.getTransactionSummary(
+        LocalDate.of(2019, 1, 1), null, Category.BILLS, AccountType.CASH);
+    assertEquals(summaryBefore.getTotalExpense(), summaryAfter.getTotalExpense());
+    assertEquals(summaryBefore.getTransactionCount(), summaryAfter.getTransactionCount());
+
+    TransactionSummary overall = transactionService.getTransactionSummary();
+    transactionTotals.rebuild();
+    assertEquals(overall.getBalance(), transactionService.getTransactionSummary().getBalance());
+
+    Sort byAmount = Sort.by(Sort.Order.desc("amount"), Sort.Order.asc("description"));
+    List<Long> expenses = listAll().stream()
+        .filter(t -> t.getType() == TransactionType.EXPENSE)
+        .sorted(Comparator.comparing(Transaction::getAmount).reversed()
+            .thenComparing(Transaction::getDescription).thenComparing(Transaction::getId))
+        .map(Transaction::getId)
+        .toList();
+    assertEquals(expenses.subList(2, 4), ids(transactionService.getTransactionsByType(
+        TransactionType.EXPENSE, PageRequest.of(1, 2, byAmount)).getContent()));
+    assertThrows(IllegalArgumentException.class, () -> transactionService.getTransactionsByType(
+        TransactionType.EXPENSE, PageRequest.of(0, 2, Sort.by("nope"))));
+    assertThrows(IllegalArgumentException.class, () -> transactionService.getTransactionsByType(
+        TransactionType.EXPENSE, PageRequest.of(201, 50)));
+
+    Transaction change = new Transaction("Rent", BigDecimal.TEN, TransactionType.EXPENSE,
+        Category.BILLS, AccountType.CASH, LocalDate.of(2019, 12, 1));
+    long archivedId = seeded.get(0).getId();
+    assertThrows(ArchivedTransactionException.class,
+        () -> transactionService.updateTransaction(archivedId, change));
+    assertThrows(ArchivedTransactionException.class,
+        () -> transactionService.deleteTransaction(archivedId));
+    assertTrue(transactionArchive.contains(archivedId));
+  }
+
+  @Test
+  void changesSince_ShouldReportArchivedTransactionsAsTheyAre() {
+    Transaction old = transactionService.createTransaction(new Transaction("Rent 2018",
+        new BigDecimal("800.00"), TransactionType.EXPENSE, Category.BILLS, AccountType.CASH,
+        LocalDate.of(2018, 6, 1)));
+    Transaction recent = transactionService.createTransaction(new Transaction("Rent now",
+        new BigDecimal("1000.00"), TransactionType.EXPENSE, Category.BILLS, AccountType.CASH,
+        LocalDate.now()));
+
+    transactionArchiver.archive(LocalDate.of(2021, 1, 1));
+
+    assertTrue(transactionArchive.contains(old.getId()));
+    TransactionChanges changes =
+        transactionChangeLog.changesSince(0, TransactionChangeLog.MAX_LIMIT);
+    List<Long> changed = ids(changes.getChanged());
+    assertTrue(changed.contains(old.getId()));
+    assertTrue(changed.contains(recent.getId()));
+    assertTrue(changes.getDeleted().isEmpty());
+  }
+
+  @Test
+  void reactiveReads_ShouldIncludeArchivedTransactions() {
+    Transaction old = save("Rent 2017", "700.00", TransactionType.EXPENSE,
+        LocalDate.of(2017, 3, 1));
+    Transaction recent = save("Salary 2024", "3100.00", TransactionType.INCOME,
+        LocalDate.of(2024, 2, 29));
+    transactionTotals.rebuild();
+    TransactionSummary summaryBefore = transactionService.getTransactionSummary(
+        LocalDate.of(2017, 1, 1), null, Category.BILLS, AccountType.CASH);
+
+    transactionArchiver.archive(LocalDate.of(2021, 1, 1));
+
+    assertTrue(transactionArchive.contains(old.getId()));
+    assertEquals("Rent 2017",
+        reactiveTransactionService.getTransactionById(old.getId()).block().getDescription());
+    List<Long> listed = ids(reactiveTransactionService.listTransactions(
+        new ListTransactionRequest()).collectList().block());
+    assertEquals(ids(listAll()), listed);
+    assertTrue(listed.indexOf(recent.getId()) < listed.indexOf(old.getId()));
+    assertTrue(ids(reactiveTransactionService.getTransactionsByType(TransactionType.EXPENSE)
+        .collectList().block()).contains(old.getId()));
+    TransactionSummary summaryAfter = reactiveTransactionService.getTransactionSummary(
+        LocalDate.of(2017, 1, 1), null, Category.BILLS, AccountType.CASH).block();
+    assertEquals(summaryBefore.getTotalExpense(), summaryAfter.getTotalExpense());
+    assertEquals(summaryBefore.getTransactionCount(), summaryAfter.getTransactionCount());
+  }
+
+  private Transaction save(String description, String amount, TransactionType type,
+      LocalDate date) {
+    return transactionRepository.save(new Transaction(description, new BigDecimal(amount), type,
+        Category.BILLS, AccountType.CASH, date));
+  }
+
+  /** Every row through the keyset list, two per page so that pages span both tiers. */
+  private List<Transaction> listAll() {
+    List<Transaction> rows = new ArrayList<>();
+    ListTransactionRequest request = new ListTransactionRequest();
+    request.setPageSize(2);
+    ListTransactionResponse page;
+    do {
+      page = transactionService.listTransactions(request);
+      rows.addAll(page.getTransactionList());
+      request.setCursor(page.getNextCursor());
+    } while (page.getNextCursor() != null);
+    return rows;
+  }
+
+  private static List<Long> ids(List<Transaction> transactions) {
+    return transactions.stream().map(Transaction::getId).toList();
+  }
+}
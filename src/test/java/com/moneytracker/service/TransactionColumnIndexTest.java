@@ -0,0 +1,169 @@
+package com.moneytracker.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import com.moneytracker.model.AccountType;
+import com.moneytracker.model.Category;
+import com.moneytracker.model.Money;
+import com.moneytracker.model.Transaction;
+import com.moneytracker.model.TransactionColumns;
+import com.moneytracker.model.TransactionSummary;
+import com.moneytracker.model.TransactionType;
+import com.moneytracker.repository.TransactionRepository;
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.function.Consumer;
+import java.util.function.Predicate;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.TransactionStatus;
+import org.springframework.transaction.support.TransactionTemplate;
+
+class TransactionColumnIndexTest {
+
+  private static final LocalDate START = LocalDate.of(2020, 1, 1);
+
+  private final TransactionRepository transactionRepository = mock(TransactionRepository.class);
+  private final TransactionTemplate transactionTemplate = mock(TransactionTemplate.class);
+  private final List<Transaction> rows = new ArrayList<>();
+
+  private TransactionColumnIndex index;
+
+  @BeforeEach
+  @SuppressWarnings("unchecked")
+  void setUp() {
+    doAnswer(invocation -> {
+      invocation.getArgument(0, Consumer.class).accept(mock(TransactionStatus.class));
+      return null;
+    }).when(transactionTemplate).executeWithoutResult(any());
+    when(transactionRepository.streamColumns())
+        .thenAnswer(invocation -> rows.stream().map(Columns::of));
+    index = new TransactionColumnIndex(transactionRepository, transactionTemplate,
+        mock(TransactionArchive.class));
+  }
+
+  @Test
+  void summary_AcrossParallelSegments_ShouldMatchAFullScan() {
+    Random random = new Random(42);
+    int count = TransactionColumnIndex.SEGMENT_SIZE * TransactionColumnIndex.PARALLEL_SEGMENTS + 7;
+    for (long id = 1; id <= count; id++) {
+      rows.add(transaction(id, random));
+    }
+    index.rebuild();
+
+    LocalDate from = START.plusDays(100);
+    LocalDate to = START.plusDays(500);
+    assertSummary(t -> true, index.summary(null, null, null, null));
+    assertSummary(t -> !t.getDate().isBefore(from) && !t.getDate().isAfter(to),
+        index.summary(from, to, null, null));
+    assertSummary(t -> t.getCategory() == Category.FOOD && t.getAccountType() == AccountType.CASH
+            && !t.getDate().isBefore(from),
+        index.summary(from, null, Category.FOOD, AccountType.CASH));
+  }
+
+  @Test
+  void onTransactionChanged_ShouldApplyCreatesUpdatesAndDeletes() {
+    Random random = new Random(7);
+    for (long id = 1; id <= 10; id++) {
+      rows.add(transaction(id, random));
+    }
+    index.rebuild();
+
+    Transaction created = transaction(11, random);
+    index.onTransactionChanged(TransactionChangedEvent.created(created));
+    rows.add(created);
+
+    Transaction before = rows.get(0);
+    Transaction after = TransactionChangedEvent.copyOf(before);
+    after.setAmount(new BigDecimal("999.99"));
+    after.setCategory(Category.FOOD);
+    index.onTransactionChanged(TransactionChangedEvent.updated(before, after));
+    rows.set(0, after);
+
+    index.onTransactionChanged(TransactionChangedEvent.deleted(rows.get(1)));
+    rows.remove(1);
+
+    assertEquals(10, index.size());
+    assertSummary(t -> true, index.summary(null, null, null, null));
+    assertSummary(t -> t.getCategory() == Category.FOOD,
+        index.summary(null, null, Category.FOOD, null));
+  }
+
+  @Test
+  void onTransactionChanged_WithChurn_ShouldReuseFreedSlots() {
+    Random random = new Random(11);
+    for (long id = 1; id <= 5_000; id++) {
+      rows.add(transaction(id, random));
+    }
+    index.rebuild();
+
+    // delete and create in rounds so that removals shift long probe runs in the id map
+    long nextId = 5_001;
+    for (int round = 0; round < 20; round++) {
+      for (int i = 0; i < 250; i++) {
+        Transaction deleted = rows.remove(random.nextInt(rows.size()));
+        index.onTransactionChanged(TransactionChangedEvent.deleted(deleted));
+      }
+      for (int i = 0; i < 250; i++) {
+        Transaction created = transaction(nextId++, random);
+        index.onTransactionChanged(TransactionChangedEvent.created(created));
+        rows.add(created);
+      }
+    }
+
+    assertEquals(5_000, index.size());
+    assertEquals(5_000, index.slotsUsed());
+    assertSummary(t -> true, index.summary(null, null, null, null));
+    assertSummary(t -> t.getCategory() == Category.FOOD,
+        index.summary(null, null, Category.FOOD, null));
+  }
+
+  private void assertSummary(Predicate<Transaction> filter, TransactionSummary summary) {
+    long income = 0;
+    long expense = 0;
+    int count = 0;
+    for (Transaction row : rows) {
+      if (!filter.test(row)) {
+        continue;
+      }
+      if (row.getType() == TransactionType.INCOME) {
+        income += Money.toCents(row.getAmount());
+      } else {
+        expense += Money.toCents(row.getAmount());
+      }
+      count++;
+    }
+    assertEquals(Money.fromCents(income), summary.getTotalIncome());
+    assertEquals(Money.fromCents(expense), summary.getTotalExpense());
+    assertEquals(Money.fromCents(income - expense), summary.getBalance());
+    assertEquals(count, summary.getTransactionCount());
+  }
+
+  private static Transaction transaction(long id, Random random) {
+    Transaction transaction = new Transaction("Row " + id,
+        Money.fromCents(1 + random.nextInt(100_000)),
+        TransactionType.values()[random.nextInt(TransactionType.values().length)],
+        Category.values()[random.nextInt(Category.values().length)],
+        AccountType.values()[random.nextInt(AccountType.values().length)],
+        START.plusDays(random.nextInt(1000)));
+    transaction.setId(id);
+    return transaction;
+  }
+
+  private record Columns(Long getId, LocalDate getDate, BigDecimal getAmount,
+      TransactionType getType, Category getCategory, AccountType getAccountType)
+      implements TransactionColumns {
+
+    static Columns of(Transaction t) {
+      return new Columns(t.getId(), t.getDate(), t.getAmount(), t.getType(), t.getCategory(),
+          t.getAccountType());
+    }
+  }
+}
@@ -0,0 +1,121 @@
+package com.moneytracker.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import com.moneytracker.model.AccountType;
+import com.moneytracker.model.Category;
+import com.moneytracker.model.Money;
+import com.moneytracker.model.Transaction;
+import com.moneytracker.model.TransactionDailyBalance;
+import com.moneytracker.model.TransactionSummary;
+import com.moneytracker.model.TransactionType;
+import com.moneytracker.repository.TransactionRepository;
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+class TransactionDailyTotalsTest {
+
+  private final TransactionRepository transactionRepository = mock(TransactionRepository.class);
+  private final List<Transaction> rows = new ArrayList<>();
+
+  private TransactionDailyTotals dailyTotals;
+
+  @BeforeEach
+  void setUp() {
+    when(transactionRepository.sumByDateAndType()).thenReturn(List.of());
+    dailyTotals = new TransactionDailyTotals(transactionRepository,
+        mock(TransactionArchive.class));
+    dailyTotals.rebuild();
+  }
+
+  @Test
+  void between_AfterRandomWrites_ShouldMatchAFullScan() {
+    Random random = new Random(42);
+    LocalDate[] dates = {LocalDate.MIN, LocalDate.of(1900, 5, 1), LocalDate.EPOCH,
+        LocalDate.of(2001, 9, 9), LocalDate.of(2024, 2, 29), LocalDate.now(),
+        // beyond the initial window, so the trees have to grow
+        LocalDate.now().plusYears(300), LocalDate.of(9999, 12, 31)};
+    for (long id = 1; id <= 500; id++) {
+      Transaction transaction = new Transaction("Row " + id,
+          Money.fromCents(1 + random.nextInt(100_000)),
+          random.nextBoolean() ? TransactionType.INCOME : TransactionType.EXPENSE, Category.FOOD,
+          AccountType.CASH, dates[random.nextInt(dates.length)].plusDays(random.nextInt(3)));
+      transaction.setId(id);
+      dailyTotals.onTransactionChanged(TransactionChangedEvent.created(transaction));
+      rows.add(transaction);
+    }
+    Transaction deleted = rows.remove(0);
+    dailyTotals.onTransactionChanged(TransactionChangedEvent.deleted(deleted));
+    Transaction before = rows.get(0);
+    Transaction after = TransactionChangedEvent.copyOf(before);
+    after.setAmount(new BigDecimal("12.34"));
+    after.setType(TransactionType.INCOME);
+    dailyTotals.onTransactionChanged(TransactionChangedEvent.updated(before, after));
+    rows.set(0, after);
+
+    for (int i = 0; i < dates.length; i++) {
+      for (int j = i; j < dates.length; j++) {
+        assertSummary(dates[i], dates[j].plusDays(1));
+      }
+      assertSummary(null, dates[i]);
+      assertSummary(dates[i], null);
+    }
+    assertSummary(null, null);
+  }
+
+  @Test
+  void runningBalance_ShouldCarryTheOpeningBalanceForward() {
+    LocalDate day = LocalDate.of(2024, 1, 1);
+    dailyTotals.onTransactionChanged(TransactionChangedEvent.created(
+        transaction(TransactionType.INCOME, "100.00", day.minusDays(10))));
+    dailyTotals.onTransactionChanged(TransactionChangedEvent.created(
+        transaction(TransactionType.EXPENSE, "30.00", day.plusDays(1))));
+
+    List<TransactionDailyBalance> series = dailyTotals.runningBalance(day, day.plusDays(2));
+
+    assertEquals(List.of(day, day.plusDays(1), day.plusDays(2)),
+        series.stream().map(TransactionDailyBalance::getDate).toList());
+    assertEquals(List.of(new BigDecimal("100.00"), new BigDecimal("70.00"),
+            new BigDecimal("70.00")),
+        series.stream().map(TransactionDailyBalance::getBalance).toList());
+    assertEquals(new BigDecimal("30.00"), series.get(1).getExpense());
+    assertThrows(IllegalArgumentException.class,
+        () -> dailyTotals.runningBalance(day, day.plusDays(TransactionDailyTotals.MAX_SERIES_DAYS)));
+  }
+
+  private void assertSummary(LocalDate from, LocalDate to) {
+    long income = 0;
+    long expense = 0;
+    int count = 0;
+    for (Transaction row : rows) {
+      if ((from != null && row.getDate().isBefore(from))
+          || (to != null && row.getDate().isAfter(to))) {
+        continue;
+      }
+      if (row.getType() == TransactionType.INCOME) {
+        income += Money.toCents(row.getAmount());
+      } else {
+        expense += Money.toCents(row.getAmount());
+      }
+      count++;
+    }
+    TransactionSummary summary = dailyTotals.between(from, to);
+    String range = from + ".." + to;
+    assertEquals(Money.fromCents(income), summary.getTotalIncome(), range);
+    assertEquals(Money.fromCents(expense), summary.getTotalExpense(), range);
+    assertEquals(count, summary.getTransactionCount(), range);
+  }
+
+  private static Transaction transaction(TransactionType type, String amount, LocalDate date) {
+    return new Transaction("Row", new BigDecimal(amount), type, Category.FOOD, AccountType.CASH,
+        date);
+  }
+}
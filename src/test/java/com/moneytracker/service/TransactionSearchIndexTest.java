@@ -0,0 +1,110 @@
+package com.moneytracker.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.mock;
+
+import com.moneytracker.model.AccountType;
+import com.moneytracker.model.Category;
+import com.moneytracker.model.Transaction;
+import com.moneytracker.model.TransactionType;
+import com.moneytracker.repository.TransactionRepository;
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.support.TransactionTemplate;
+
+class TransactionSearchIndexTest {
+
+  private TransactionSearchIndex index;
+
+  @BeforeEach
+  void setUp() {
+    index = new TransactionSearchIndex(mock(TransactionRepository.class),
+        mock(TransactionTemplate.class), mock(TransactionArchive.class));
+    create(1, "Coffee at Blue Bottle", Category.FOOD, LocalDate.of(2024, 1, 1));
+    create(2, "Coffeehouse rent", Category.BILLS, LocalDate.of(2024, 1, 2));
+    create(3, "Coffee beans, coffee filters", Category.FOOD, LocalDate.of(2024, 1, 3));
+    create(4, "Bus ticket", Category.TRANSPORTATION, LocalDate.of(2024, 1, 4));
+  }
+
+  @Test
+  void search_ShouldRankExactWordsAbovePrefixesThenNewestFirst() {
+    assertEquals(List.of(3L, 1L, 2L), search("coffee").ids());
+    // no exact word "coff": all three are prefix matches, so newest first
+    assertEquals(List.of(3L, 2L, 1L), search("COFF").ids());
+    assertEquals(List.of(1L), search("blue coff").ids());
+    assertEquals(List.of(), search("coffee bus").ids());
+  }
+
+  @Test
+  void search_ShouldApplyFiltersAndPages() {
+    assertEquals(List.of(3L, 1L), index.search("coffee", TransactionType.EXPENSE, Category.FOOD,
+        null, null, null, 0, 10).ids());
+    assertEquals(List.of(1L), index.search("coffee", null, null, null, null,
+        LocalDate.of(2024, 1, 1), 0, 10).ids());
+
+    TransactionSearchIndex.Hits first = index.search("coffee", null, null, null, null, null, 0, 2);
+    assertEquals(List.of(3L, 1L), first.ids());
+    assertTrue(first.hasNext());
+    TransactionSearchIndex.Hits second = index.search("coffee", null, null, null, null, null, 2, 2);
+    assertEquals(List.of(2L), second.ids());
+    assertFalse(second.hasNext());
+  }
+
+  @Test
+  void onTransactionChanged_ShouldFollowUpdatesAndDeletes() {
+    Transaction before = transaction(4, "Bus ticket", Category.TRANSPORTATION, LocalDate.of(2024, 1, 4));
+    Transaction after = TransactionChangedEvent.copyOf(before);
+    after.setDescription("Coffee on the bus");
+    index.onTransactionChanged(TransactionChangedEvent.updated(before, after));
+    index.onTransactionChanged(TransactionChangedEvent.deleted(
+        transaction(3, "Coffee beans, coffee filters", Category.FOOD, LocalDate.of(2024, 1, 3))));
+
+    assertEquals(List.of(4L, 1L, 2L), search("coffee").ids());
+    assertEquals(List.of(), search("ticket").ids());
+  }
+
+  @Test
+  void onTransactionChanged_ManyUpdates_ShouldCompactRetiredDocuments() {
+    Transaction current = transaction(5, "Rent v0", Category.BILLS, LocalDate.of(2024, 1, 5));
+    index.onTransactionChanged(TransactionChangedEvent.created(current));
+    for (int v = 1; v <= 10 * TransactionSearchIndex.MIN_RETIRED_TO_COMPACT; v++) {
+      Transaction next = TransactionChangedEvent.copyOf(current);
+      next.setDescription("Rent v" + v);
+      index.onTransactionChanged(TransactionChangedEvent.updated(current, next));
+      current = next;
+    }
+
+    assertTrue(index.documentCount() < 2 * TransactionSearchIndex.MIN_RETIRED_TO_COMPACT);
+    assertEquals(List.of(5L, 2L), search("rent").ids());
+    assertEquals(List.of(3L, 1L, 2L), search("coffee").ids());
+    assertEquals(List.of(), search("v0").ids());
+  }
+
+  @Test
+  void search_WithoutWords_ShouldBeRejected() {
+    assertThrows(IllegalArgumentException.class, () -> search(" ,. "));
+  }
+
+  private TransactionSearchIndex.Hits search(String query) {
+    return index.search(query, null, null, null, null, null, 0, 10);
+  }
+
+  private void create(long id, String description, Category category, LocalDate date) {
+    index.onTransactionChanged(TransactionChangedEvent.created(
+        transaction(id, description, category, date)));
+  }
+
+  private static Transaction transaction(long id, String description, Category category,
+      LocalDate date) {
+    Transaction transaction = new Transaction(description, new BigDecimal("10.00"),
+        TransactionType.EXPENSE, category, AccountType.CASH, date);
+    transaction.setId(id);
+    return transaction;
+  }
+}
@@ -1,16 +1,25 @@
 package com.moneytracker.service;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
+import com.moneytracker.config.CacheConfig;
 import com.moneytracker.model.AccountType;
 import com.moneytracker.model.Category;
 import com.moneytracker.model.Transaction;
+import com.moneytracker.model.TransactionSummary;
 import com.moneytracker.model.TransactionType;
+import com.moneytracker.model.TransactionTypeTotal;
 import com.moneytracker.repository.TransactionRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import java.math.BigDecimal;
 import java.time.LocalDate;
 import java.util.Arrays;
@@ -20,7 +29,13 @@ import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.OptimisticLockingFailureException;
 
 @ExtendWith(MockitoExtension.class)
 class TransactionServiceTest {
@@ -28,6 +43,36 @@ class TransactionServiceTest {
   @Mock
   private TransactionRepository transactionRepository;
 
+  @Spy
+  private TransactionValidator transactionValidator = new TransactionValidator();
+
+  @Mock
+  private TransactionTotals transactionTotals;
+
+  @Mock
+  private TransactionDailyTotals transactionDailyTotals;
+
+  @Mock
+  private TransactionSearchIndex transactionSearchIndex;
+
+  @Mock
+  private TransactionArchive transactionArchive;
+
+  @Mock
+  private ApplicationEventPublisher eventPublisher;
+
+  @Mock
+  private CacheManager cacheManager;
+
+  @Mock
+  private Cache cache;
+
+  @Spy
+  private TransactionMetrics transactionMetrics = new TransactionMetrics(new SimpleMeterRegistry());
+
+  @Mock
+  private ObjectProvider<TransactionColumnIndex> transactionColumnIndex;
+
   @InjectMocks
   private TransactionService transactionService;
 
@@ -75,5 +120,120 @@ class TransactionServiceTest {
     // Assert
     assertEquals("T1", result.getDescription());
     verify(transactionRepository).save(t1);
+    verify(eventPublisher).publishEvent(any(TransactionChangedEvent.class));
+  }
+
+  @Test
+  void updateTransaction_WithCachedRow_ShouldIssueSingleUpdate() {
+    // Arrange
+    Transaction cached = new Transaction("T1", BigDecimal.TEN, TransactionType.EXPENSE, Category.FOOD, AccountType.CASH, LocalDate.of(2025, 3, 1));
+    cached.setId(7L);
+    cached.setVersion(3L);
+    Transaction changes = new Transaction("T1 fixed", BigDecimal.ONE, TransactionType.EXPENSE, Category.GROCERY, AccountType.CASH, LocalDate.of(2025, 3, 1));
+    when(cacheManager.getCache(CacheConfig.TRANSACTIONS)).thenReturn(cache);
+    when(cache.get(7L, Transaction.class)).thenReturn(cached);
+    when(transactionRepository.updateIfVersion(eq(7L), eq(3L), eq("T1 fixed"), eq(BigDecimal.ONE),
+        eq(TransactionType.EXPENSE), eq(Category.GROCERY), any())).thenReturn(1);
+
+    // Act
+    Optional<Transaction> result = transactionService.updateTransaction(7L, changes);
+
+    // Assert
+    assertTrue(result.isPresent());
+    assertEquals("T1 fixed", result.get().getDescription());
+    assertEquals(4L, result.get().getVersion());
+    assertEquals("T1", cached.getDescription());
+    verify(transactionRepository, never()).findById(any());
+    verify(eventPublisher).publishEvent(any(TransactionChangedEvent.class));
+  }
+
+  @Test
+  void updateTransaction_WithStaleVersion_ShouldThrowConflict() {
+    // Arrange
+    Transaction existing = new Transaction("T1", BigDecimal.TEN, TransactionType.EXPENSE, Category.FOOD, AccountType.CASH, LocalDate.of(2025, 3, 1));
+    existing.setId(7L);
+    existing.setVersion(5L);
+    Transaction changes = new Transaction("T1 fixed", BigDecimal.ONE, TransactionType.EXPENSE, Category.FOOD, AccountType.CASH, LocalDate.of(2025, 3, 1));
+    changes.setVersion(4L);
+    when(transactionRepository.findById(7L)).thenReturn(Optional.of(existing));
+
+    // Act & Assert
+    assertThrows(OptimisticLockingFailureException.class,
+        () -> transactionService.updateTransaction(7L, changes));
+    verify(transactionRepository, never()).updateIfVersion(anyLong(), anyLong(), any(), any(),
+        any(), any(), any());
+  }
+
+  @Test
+  void deleteTransaction_WithCachedRow_ShouldIssueSingleDelete() {
+    // Arrange
+    Transaction cached = new Transaction("T1", BigDecimal.TEN, TransactionType.EXPENSE, Category.FOOD, AccountType.CASH, LocalDate.of(2025, 3, 1));
+    cached.setId(7L);
+    cached.setVersion(0L);
+    when(cacheManager.getCache(CacheConfig.TRANSACTIONS)).thenReturn(cache);
+    when(cache.get(7L, Transaction.class)).thenReturn(cached);
+    when(transactionRepository.deleteIfVersion(7L, 0L)).thenReturn(1);
+
+    // Act
+    boolean removed = transactionService.deleteTransaction(7L);
+
+    // Assert
+    assertTrue(removed);
+    verify(transactionRepository, never()).findById(any());
+    verify(transactionRepository, never()).existsById(any());
+  }
+
+  @Test
+  void getTransactionSummary() {
+    // Arrange
+    TransactionSummary totals = new TransactionSummary(BigDecimal.TEN, BigDecimal.ONE,
+        new BigDecimal("9"), 2);
+    when(transactionTotals.overall()).thenReturn(totals);
+
+    // Act
+    TransactionSummary result = transactionService.getTransactionSummary();
+
+    // Assert
+    assertSame(totals, result);
+    verify(transactionRepository, never()).sumByType(any(), any(), any(), any());
+  }
+
+  @Test
+  void getTransactionSummary_WithDateRange() {
+    // Arrange
+    LocalDate from = LocalDate.of(2025, 1, 1);
+    when(transactionRepository.sumByType(from, null, null, null)).thenReturn(List.of(
+        typeTotal(TransactionType.INCOME, new BigDecimal("5800.00"), 2),
+        typeTotal(TransactionType.EXPENSE, new BigDecimal("225.50"), 2)));
+
+    // Act
+    TransactionSummary result = transactionService.getTransactionSummary(from, null, null, null);
+
+    // Assert
+    assertEquals(new BigDecimal("5800.00"), result.getTotalIncome());
+    assertEquals(new BigDecimal("225.50"), result.getTotalExpense());
+    assertEquals(new BigDecimal("5574.50"), result.getBalance());
+    assertEquals(4, result.getTransactionCount());
+    verify(transactionTotals, never()).overall();
+  }
+
+  private static TransactionTypeTotal typeTotal(TransactionType type, BigDecimal total,
+      long count) {
+    return new TransactionTypeTotal() {
+      @Override
+      public TransactionType getType() {
+        return type;
+      }
+
+      @Override
+      public BigDecimal getTotal() {
+        return total;
+      }
+
+      @Override
+      public long getCount() {
+        return count;
+      }
+    };
   }
 }
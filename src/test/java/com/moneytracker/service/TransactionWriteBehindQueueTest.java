@@ -0,0 +1,188 @@
+package com.moneytracker.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.timeout;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+import com.moneytracker.model.AccountType;
+import com.moneytracker.model.Category;
+import com.moneytracker.model.Transaction;
+import com.moneytracker.model.TransactionType;
+import com.moneytracker.repository.TransactionBatchInserter;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.transaction.TransactionStatus;
+import org.springframework.transaction.support.TransactionTemplate;
+
+class TransactionWriteBehindQueueTest {
+
+  private final TransactionBatchInserter batchInserter = mock(TransactionBatchInserter.class);
+  private final ApplicationEventPublisher eventPublisher = mock(ApplicationEventPublisher.class);
+  private final TransactionTemplate transactionTemplate = mock(TransactionTemplate.class);
+
+  /** Sizes of the batches handed to the inserter, in order. */
+  private final List<Integer> batchSizes = new ArrayList<>();
+  private final CountDownLatch firstBatchStarted = new CountDownLatch(1);
+  private final CountDownLatch releaseFirstBatch = new CountDownLatch(1);
+  private final AtomicLong ids = new AtomicLong();
+
+  private TransactionWriteBehindQueue queue;
+
+  @BeforeEach
+  @SuppressWarnings("unchecked")
+  void setUp() {
+    doAnswer(invocation -> {
+      invocation.getArgument(0, Consumer.class).accept(mock(TransactionStatus.class));
+      return null;
+    }).when(transactionTemplate).executeWithoutResult(any());
+
+    doAnswer(invocation -> {
+      List<Transaction> rows = invocation.getArgument(0);
+      synchronized (batchSizes) {
+        batchSizes.add(rows.size());
+      }
+      firstBatchStarted.countDown();
+      releaseFirstBatch.await(5, TimeUnit.SECONDS);
+      for (Transaction row : rows) {
+        if (row.getDescription().equals("bad")) {
+          throw new DataIntegrityViolationException("bad row");
+        }
+      }
+      rows.forEach(row -> row.setId(ids.incrementAndGet()));
+      return null;
+    }).when(batchInserter).insert(anyList());
+  }
+
+  @AfterEach
+  void tearDown() {
+    releaseFirstBatch.countDown();
+    queue.stop();
+  }
+
+  @Test
+  void submit_ShouldCommitRowsQueuedDuringAWriteAsOneBatch() throws Exception {
+    start(100);
+    CompletableFuture<Transaction> first = queue.submit(transaction("first"));
+    assertTrue(firstBatchStarted.await(5, TimeUnit.SECONDS));
+
+    List<CompletableFuture<Transaction>> queued = new ArrayList<>();
+    for (int i = 0; i < 3; i++) {
+      queued.add(queue.submit(transaction("queued " + i)));
+    }
+    releaseFirstBatch.countDown();
+
+    assertEquals(1L, first.get(5, TimeUnit.SECONDS).getId());
+    for (CompletableFuture<Transaction> future : queued) {
+      assertTrue(future.get(5, TimeUnit.SECONDS).getId() > 1);
+    }
+    assertEquals(List.of(1, 3), batchSizes);
+    verify(eventPublisher, times(4)).publishEvent(any(TransactionChangedEvent.class));
+  }
+
+  @Test
+  void submit_WhenQueueIsFull_ShouldReject() throws Exception {
+    start(1);
+    queue.submit(transaction("first"));
+    assertTrue(firstBatchStarted.await(5, TimeUnit.SECONDS));
+    CompletableFuture<Transaction> waiting = queue.submit(transaction("second"));
+
+    assertThrows(RejectedExecutionException.class, () -> queue.submit(transaction("third")));
+
+    releaseFirstBatch.countDown();
+    assertEquals("second", waiting.get(5, TimeUnit.SECONDS).getDescription());
+  }
+
+  @Test
+  void create_WhenCommitTimesOut_ShouldReportTheRowAsUnconfirmed() throws Exception {
+    start(100, Duration.ofMillis(50));
+
+    assertThrows(TransactionNotConfirmedException.class,
+        () -> queue.create(transaction("slow")));
+
+    // the row was accepted all along and is still written
+    releaseFirstBatch.countDown();
+    verify(eventPublisher, timeout(5000)).publishEvent(any(TransactionChangedEvent.class));
+    assertEquals(1L, ids.get());
+  }
+
+  @Test
+  void submit_WithInvalidTransaction_ShouldFailWithoutQueueing() {
+    start(100);
+    Transaction invalid = transaction("invalid");
+    invalid.setAmount(BigDecimal.ZERO);
+
+    assertThrows(IllegalArgumentException.class, () -> queue.submit(invalid));
+  }
+
+  @Test
+  void write_WhenBatchFails_ShouldOnlyFailTheBadRow() throws Exception {
+    start(100);
+    queue.submit(transaction("first"));
+    assertTrue(firstBatchStarted.await(5, TimeUnit.SECONDS));
+    CompletableFuture<Transaction> good = queue.submit(transaction("good"));
+    CompletableFuture<Transaction> bad = queue.submit(transaction("bad"));
+    releaseFirstBatch.countDown();
+
+    assertEquals("good", good.get(5, TimeUnit.SECONDS).getDescription());
+    ExecutionException failure = assertThrows(ExecutionException.class,
+        () -> bad.get(5, TimeUnit.SECONDS));
+    assertTrue(failure.getCause() instanceof DataIntegrityViolationException);
+  }
+
+  @Test
+  void write_WhenWriterDies_ShouldFailQueuedRowsAndRejectNewOnes() throws Exception {
+    start(100);
+    CompletableFuture<Transaction> first = queue.submit(transaction("first"));
+    assertTrue(firstBatchStarted.await(5, TimeUnit.SECONDS));
+    CompletableFuture<Transaction> queued = queue.submit(transaction("queued"));
+    doThrow(new StackOverflowError("boom")).when(batchInserter).insert(anyList());
+    // the in-flight batch is already past the inserter, so only later batches see the error
+    releaseFirstBatch.countDown();
+    first.get(5, TimeUnit.SECONDS);
+
+    ExecutionException failure = assertThrows(ExecutionException.class,
+        () -> queued.get(5, TimeUnit.SECONDS));
+    assertTrue(failure.getCause() instanceof RejectedExecutionException);
+    assertThrows(RejectedExecutionException.class, () -> queue.create(transaction("late")));
+  }
+
+  private void start(int capacity) {
+    start(capacity, Duration.ofSeconds(5));
+  }
+
+  private void start(int capacity, Duration commitTimeout) {
+    queue = new TransactionWriteBehindQueue(batchInserter, new TransactionValidator(),
+        eventPublisher, transactionTemplate, new TransactionMetrics(new SimpleMeterRegistry()),
+        capacity, 500, Duration.ofMillis(5), Duration.ofMillis(50), commitTimeout);
+    queue.start();
+  }
+
+  private static Transaction transaction(String description) {
+    return new Transaction(description, new BigDecimal("10.00"), TransactionType.EXPENSE,
+        Category.FOOD, AccountType.CASH, LocalDate.of(2024, 1, 1));
+  }
+}